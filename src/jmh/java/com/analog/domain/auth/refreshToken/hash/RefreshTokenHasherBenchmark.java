@@ -0,0 +1,70 @@
+package com.analog.domain.auth.refreshToken.hash;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.analog.global.config.JwtProperties;
+import com.analog.global.security.jwt.JwtTokenProvider;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RefreshTokenHasherBenchmark {
+
+	private static final String SECRET = "refresh-token-hmac-secret-for-benchmark";
+	
+	private HmacSha256RefreshTokenHasher hasher;
+	private String refreshToken;
+	
+	@Setup
+	public void setUp() {
+		String jwtSecret = Base64.getEncoder().encodeToString("01234567890123456789012345678901".getBytes());
+		JwtTokenProvider provider = new JwtTokenProvider(
+				new JwtProperties("analog", jwtSecret, 900, 1209600, false), Clock.systemUTC());
+		
+		hasher = new HmacSha256RefreshTokenHasher(SECRET);
+		// login/reissue/logout 에서 해시하는 것과 같은 실제 refresh 토큰
+		refreshToken = provider.createRefreshToken(1L);
+	}
+	
+	// 변경 전 구현: 호출마다 Mac.getInstance + init, 바이트마다 String.format
+	@Benchmark
+	public String hash_legacy() throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		byte[] result = mac.doFinal(refreshToken.getBytes(StandardCharsets.UTF_8));
+		
+		StringBuilder sb = new StringBuilder(result.length * 2);
+		for (byte b : result) {
+			sb.append(String.format("%02x", b));
+		}
+		
+		return sb.toString();
+	}
+	
+	@Benchmark
+	public String hash_threadLocalMac() {
+		return hasher.hash(refreshToken);
+	}
+}
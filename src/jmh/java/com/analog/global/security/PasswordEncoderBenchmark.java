@@ -0,0 +1,66 @@
+package com.analog.global.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.analog.global.config.PasswordHashingProperties;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+	private static final String PASSWORD = "password1234";
+	
+	// 새로 저장하는 해시의 알고리즘. cost 는 운영과 같이 기동 시 측정으로 정한다
+	@Param({"BCRYPT", "PBKDF2", "ARGON2"})
+	public PasswordHashAlgorithm algorithm;
+	
+	private PasswordEncoder passwordEncoder;
+	private String encoded;
+	private String legacyEncoded;
+	
+	@Setup
+	public void setUp() {
+		// 운영과 같은 설정의 해시 알고리즘을 측정한다. 전용 풀로 넘기는 비용은 제외한다
+		passwordEncoder = PasswordEncoderConfig.hashingEncoder(
+				new PasswordHashingProperties(0, 64, algorithm, 100, 0));
+		encoded = passwordEncoder.encode(PASSWORD);
+		// 접두어 없이 저장된 기존 BCrypt 해시
+		legacyEncoded = new BCryptPasswordEncoder().encode(PASSWORD);
+	}
+	
+	// signup, updatePassword
+	@Benchmark
+	public String encode() {
+		return passwordEncoder.encode(PASSWORD);
+	}
+	
+	// login, updatePassword, withdraw
+	@Benchmark
+	public boolean matches() {
+		return passwordEncoder.matches(PASSWORD, encoded);
+	}
+	
+	// 다시 해시되기 전의 login
+	@Benchmark
+	public boolean matchesLegacy() {
+		return passwordEncoder.matches(PASSWORD, legacyEncoded);
+	}
+}
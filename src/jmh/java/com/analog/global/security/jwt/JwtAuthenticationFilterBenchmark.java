@@ -0,0 +1,119 @@
+package com.analog.global.security.jwt;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.config.JwtProperties;
+import com.analog.global.config.PrincipalCacheProperties;
+import com.analog.global.config.TokenRevocationProperties;
+import com.analog.global.security.auth.AuthPrincipal;
+import com.analog.global.security.auth.PrincipalCache;
+import com.analog.global.security.revocation.AccessTokenRevocationList;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+	private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+	
+	private JwtAuthenticationFilter filter;
+	private String validHeader;
+	private String embeddedHeader;
+	private String tamperedHeader;
+	
+	@Setup
+	public void setUp() {
+		String secret = Base64.getEncoder().encodeToString("01234567890123456789012345678901".getBytes());
+		JwtProperties jwtProperties = new JwtProperties("analog", secret, 900, 1209600, true);
+		JwtTokenProvider provider = new JwtTokenProvider(jwtProperties, Clock.systemUTC());
+		
+		AuthenticationEntryPoint entryPoint = (request, response, ex) -> response.setStatus(401);
+		User user = User.createLocal("bench@test.com", "pw", "bench");
+		PrincipalCache principalCache = new PrincipalCache(
+				inMemoryUserRepository(user),
+				new PrincipalCacheProperties(10_000, 60),
+				new SimpleMeterRegistry());
+		AccessTokenRevocationList revocationList = new AccessTokenRevocationList(
+				new TokenRevocationProperties(100_000, 0.01, 300_000),
+				jwtProperties, Clock.systemUTC(), new SimpleMeterRegistry());
+		
+		filter = new JwtAuthenticationFilter(provider, entryPoint, principalCache, revocationList);
+		
+		String token = provider.createAccessToken(1L);
+		validHeader = "Bearer " + token;
+		embeddedHeader = "Bearer " + provider.issueTokenPair(1L, AuthPrincipal.from(user), null).accessToken().token();
+		tamperedHeader = "Bearer " + token.substring(0, token.length() - 2) + "xx";
+	}
+	
+	@Benchmark
+	public int validAccessToken() throws Exception {
+		return doFilter(validHeader);
+	}
+	
+	@Benchmark
+	public int embeddedClaimsAccessToken() throws Exception {
+		return doFilter(embeddedHeader);
+	}
+	
+	@Benchmark
+	public int invalidSignature() throws Exception {
+		return doFilter(tamperedHeader);
+	}
+	
+	private int doFilter(String authorization) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+		request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		try {
+			filter.doFilter(request, response, NO_OP_CHAIN);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+		
+		return response.getStatus();
+	}
+	
+	// findById/findTokenVersion만 필요하므로 JPA 없이 프록시로 대신한다
+	private static UserRepository inMemoryUserRepository(User user) {
+		return (UserRepository) Proxy.newProxyInstance(
+				UserRepository.class.getClassLoader(),
+				new Class<?>[] { UserRepository.class },
+				(proxy, method, args) -> switch (method.getName()) {
+					case "findById" -> Optional.of(user);
+					case "findTokenVersion" -> Optional.of(user.getTokenVersion());
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					case "toString" -> "InMemoryUserRepository";
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+}
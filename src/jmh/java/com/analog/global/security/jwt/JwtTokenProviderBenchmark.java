@@ -0,0 +1,73 @@
+package com.analog.global.security.jwt;
+
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.analog.global.config.JwtProperties;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+	private static final String RAW_SECRET = "01234567890123456789012345678901";
+	
+	private Clock clock;
+	private SecretKey secretKey;
+	private JwtTokenProvider provider;
+	private String accessToken;
+	
+	@Setup
+	public void setUp() {
+		String secret = Base64.getEncoder().encodeToString(RAW_SECRET.getBytes());
+		
+		clock = Clock.systemUTC();
+		secretKey = Keys.hmacShaKeyFor(RAW_SECRET.getBytes());
+		provider = new JwtTokenProvider(new JwtProperties("analog", secret, 900, 1209600, false), clock);
+		accessToken = provider.createAccessToken(1L);
+	}
+	
+	@Benchmark
+	public String createAccessToken() {
+		return provider.createAccessToken(1L);
+	}
+	
+	// 변경 전: 호출마다 parser를 새로 만든다
+	@Benchmark
+	public Claims parse_rebuildParserPerCall() {
+		return Jwts.parser()
+				.verifyWith(secretKey)
+				.clock(() -> Date.from(clock.instant()))
+				.build()
+				.parseSignedClaims(accessToken)
+				.getPayload();
+	}
+	
+	// 변경 후: JwtTokenProvider가 미리 만든 parser를 공유한다
+	@Benchmark
+	public JwtClaims parse_sharedParser() {
+		return provider.parse(accessToken);
+	}
+}
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -74,8 +75,10 @@ public class AuthController {
 	}
 	
 	@PostMapping("/logout")
-	public ResponseEntity<Void> logout(@CookieValue(value = "refreshToken", required = false) String refreshToken) {
-		authService.logout(refreshToken);
+	public ResponseEntity<Void> logout(@CookieValue(value = "refreshToken", required = false) String refreshToken,
+									   @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+		String accessToken = (authorization != null && authorization.startsWith("Bearer ")) ? authorization.substring(7).trim() : null;
+		authService.logout(refreshToken, accessToken);
 		
 		ResponseCookie expired = ResponseCookie.from("refreshToken")
 				.httpOnly(true)
@@ -0,0 +1,13 @@
+package com.analog.domain.auth.event;
+
+import java.time.Instant;
+
+// 이미 회전된 refresh token 이 다시 제시되어 family 전체가 폐기되었다
+public record RefreshTokenReuseDetectedEvent(
+		Long userId,
+		String familyId,
+		String tokenId,
+		Instant detectedAt
+) {
+
+}
@@ -0,0 +1,27 @@
+package com.analog.domain.auth.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// 폐기가 커밋된 뒤에 보안 로그와 지표를 남긴다
+@Slf4j
+@Component
+public class RefreshTokenReuseListener {
+
+	private final Counter detected;
+	
+	public RefreshTokenReuseListener(MeterRegistry meterRegistry) {
+		this.detected = meterRegistry.counter("auth.refresh.reuse.detected");
+	}
+	
+	@TransactionalEventListener
+	public void onReuseDetected(RefreshTokenReuseDetectedEvent event) {
+		detected.increment();
+		log.warn("refresh token reuse detected, family revoked: userId={}, familyId={}, tokenId={}, at={}",
+				event.userId(), event.familyId(), event.tokenId(), event.detectedAt());
+	}
+}
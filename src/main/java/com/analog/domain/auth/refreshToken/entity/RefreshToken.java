@@ -12,8 +12,9 @@ import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
@@ -23,9 +24,20 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+// 기기(로그인)마다 한 행이며, 한 행이 곧 하나의 token family 다.
+// 재발급 시에는 같은 행의 jti/해시만 바뀌고 family_id 는 로그인 때 값이 유지된다 (RefreshTokenRepository.rotate)
 @Table(
 		name = "refresh_tokens",
-		uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_user_id", columnNames = "user_id")
+		uniqueConstraints = {
+				@UniqueConstraint(name = "uk_refresh_tokens_token_id", columnNames = "token_id"),
+				@UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = "token_hash"),
+				@UniqueConstraint(name = "uk_refresh_tokens_family_id", columnNames = "family_id")
+		},
+		indexes = {
+				// 사용자별 세션 수 제한 시 가장 오래 쓰지 않은 세션을 찾는다
+				@Index(name = "idx_refresh_tokens_user_id_last_used_at", columnList = "user_id, last_used_at"),
+				@Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+		}
 		)
 public class RefreshToken extends BaseTimeEntity {
 
@@ -33,33 +45,35 @@ public class RefreshToken extends BaseTimeEntity {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 	
-	@OneToOne(fetch = FetchType.LAZY, optional = false)
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
 	@JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "kf_refresh_tokens_users"))
 	private User user;
 	
 	@Column(name = "token_hash", nullable = false, length = 64)
 	private String tokenHash;
 	
-	@Column(name = "token_id")
+	@Column(name = "token_id", nullable = false, length = 36)
 	private String tokenId;
 	
+	@Column(name = "family_id", nullable = false, length = 36)
+	private String familyId;
+	
 	@Column(name = "expires_at", nullable = false)
 	private Instant expiresAt;
 	
-	private RefreshToken(User user, String tokenHash, String tokenId, Instant expiresAt) {
+	@Column(name = "last_used_at", nullable = false)
+	private Instant lastUsedAt;
+	
+	private RefreshToken(User user, String tokenHash, String tokenId, String familyId, Instant expiresAt, Instant lastUsedAt) {
 		this.user = user;
         this.tokenHash = tokenHash;
         this.tokenId = tokenId;
+        this.familyId = familyId;
         this.expiresAt = expiresAt;
+        this.lastUsedAt = lastUsedAt;
 	}
 	
-	public static RefreshToken create(User user, String tokenHash, String tokenId, Instant expiresAt) {
-		return new RefreshToken(user, tokenHash, tokenId, expiresAt);
-	}
-	
-	public void rotate(String newTokenHash, String newTokenId, Instant newExpiresAt) {
-		this.tokenHash = newTokenHash;
-        this.tokenId = newTokenId;
-        this.expiresAt = newExpiresAt;
+	public static RefreshToken create(User user, String tokenHash, String tokenId, String familyId, Instant expiresAt, Instant now) {
+		return new RefreshToken(user, tokenHash, tokenId, familyId, expiresAt, now);
 	}
 }
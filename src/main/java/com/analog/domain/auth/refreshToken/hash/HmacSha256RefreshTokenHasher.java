@@ -1,6 +1,8 @@
 package com.analog.domain.auth.refreshToken.hash;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -11,7 +13,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class HmacSha256RefreshTokenHasher implements RefreshTokenHasher {
 
-	private final byte[] secretBytes;
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final HexFormat HEX = HexFormat.of();
+	
+	private final SecretKeySpec secretKey;
+	private final Mac prototype;
+	private final ThreadLocal<Mac> macs;
 	
 	public HmacSha256RefreshTokenHasher(
 			@Value("${auth.cookie.refresh.hmac-secret}")
@@ -20,28 +27,36 @@ public class HmacSha256RefreshTokenHasher implements RefreshTokenHasher {
 		if (secret == null || secret.isBlank()) {
 			throw new IllegalStateException("auth.refresh.hmac-secret must not be empty");
 		}
-		this.secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+		this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+		// provider 조회와 키 초기화는 여기서 한 번만 하고, 스레드별로 복제해서 재사용한다
+		this.prototype = newMac();
+		this.macs = ThreadLocal.withInitial(this::copyPrototype);
 	}
 	
 	@Override
 	public String hash(String rawToken) {
+		// doFinal은 Mac을 초기 상태로 되돌리므로 같은 스레드에서 바로 다시 쓸 수 있다
+		byte[] result = macs.get().doFinal(rawToken.getBytes(StandardCharsets.UTF_8));
+		
+		return HEX.formatHex(result);
+	}
+	
+	private Mac copyPrototype() {
 		try {
-			Mac mac = Mac.getInstance("HmacSHA256");
-			mac.init(new SecretKeySpec(secretBytes, "HmacSHA256"));
-			byte[] result = mac.doFinal(rawToken.getBytes(StandardCharsets.UTF_8));
-			
-			return toHex(result);
-		} catch (Exception e) {
-			throw new IllegalStateException("HMAC-SHA256 hashing failed", e);
+			return (Mac) prototype.clone();
+		} catch (CloneNotSupportedException e) {
+			return newMac();
 		}
 	}
 	
-	private String toHex(byte[] bytes) {
-		StringBuilder sb = new StringBuilder(bytes.length * 2);
-		for (byte b : bytes) {
-			sb.append(String.format("%02x", b));
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(secretKey);
+			
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HMAC-SHA256 initialization failed", e);
 		}
-		
-		return sb.toString();
 	}
 }
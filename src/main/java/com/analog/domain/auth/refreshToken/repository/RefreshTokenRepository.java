@@ -1,14 +1,67 @@
 package com.analog.domain.auth.refreshToken.repository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.analog.domain.auth.refreshToken.entity.RefreshToken;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-	Optional<RefreshToken> findByUserId(Long userId);
+	// token_id unique 인덱스 한 번으로 세션을 찾는다. 만료된 행은 sweeper 가 지우기 전이라도 없는 것으로 본다
+	@Query("select t from RefreshToken t where t.tokenId = :tokenId and t.expiresAt > :now")
+	Optional<RefreshToken> findActiveByTokenId(@Param("tokenId") String tokenId, @Param("now") Instant now);
 	
-	void deleteByUserId(Long userId);
+	// 조회 없이 UPDATE 한 번으로 회전한다. 제시한 jti/해시가 현재 값과 같을 때만 바뀌므로
+	// 같은 토큰으로 동시에 재발급하면 한 요청만 1 을 받는다
+	@Modifying
+	@Query("""
+			update RefreshToken t
+			set t.tokenId = :newTokenId,
+				t.tokenHash = :newTokenHash,
+				t.expiresAt = :newExpiresAt,
+				t.lastUsedAt = :now,
+				t.updatedAt = :updatedAt
+			where t.tokenId = :tokenId
+			  and t.tokenHash = :tokenHash
+			  and t.user.id = :userId
+			  and t.expiresAt > :now
+			""")
+	int rotate(@Param("userId") Long userId,
+			   @Param("tokenId") String tokenId,
+			   @Param("tokenHash") String tokenHash,
+			   @Param("newTokenId") String newTokenId,
+			   @Param("newTokenHash") String newTokenHash,
+			   @Param("newExpiresAt") Instant newExpiresAt,
+			   @Param("now") Instant now,
+			   @Param("updatedAt") LocalDateTime updatedAt);
+	
+	// family_id unique 인덱스 조회
+	Optional<RefreshToken> findByFamilyId(String familyId);
+	
+	@Modifying
+	@Query("delete from RefreshToken t where t.familyId = :familyId")
+	int deleteByFamilyId(@Param("familyId") String familyId);
+	
+	@Query("select t.id from RefreshToken t where t.user.id = :userId order by t.lastUsedAt desc, t.id desc")
+	List<Long> findIdsByUserIdOrderByRecentUse(@Param("userId") Long userId);
+	
+	@Query("select t.id from RefreshToken t where t.expiresAt <= :now order by t.expiresAt")
+	List<Long> findExpiredIds(@Param("now") Instant now, Limit limit);
+	
+	@Modifying
+	@Query("delete from RefreshToken t where t.id in :ids")
+	int deleteByIdIn(@Param("ids") Collection<Long> ids);
+	
+	@Modifying
+	@Query("delete from RefreshToken t where t.user.id = :userId")
+	int deleteByUserId(@Param("userId") Long userId);
 }
@@ -14,5 +14,5 @@ public interface AuthService {
 	
 	ReissueResponse reissue(String rawRefreshToken);
 	
-	void logout(String rawRefreshToken);
+	void logout(String rawRefreshToken, String accessToken);
 }
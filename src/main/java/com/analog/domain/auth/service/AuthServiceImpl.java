@@ -1,10 +1,12 @@
 package com.analog.domain.auth.service;
 
-import java.util.Optional;
+import java.time.Clock;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.analog.domain.auth.dto.request.LoginRequest;
 import com.analog.domain.auth.dto.request.SignupRequest;
@@ -19,9 +21,13 @@ import com.analog.domain.user.entity.User;
 import com.analog.domain.user.repository.UserRepository;
 import com.analog.global.error.BusinessException;
 import com.analog.global.error.ErrorCode;
+import com.analog.global.security.auth.AuthPrincipal;
+import com.analog.global.security.auth.PrincipalCache;
 import com.analog.global.security.jwt.JwtClaims;
 import com.analog.global.security.jwt.JwtTokenProvider;
+import com.analog.global.security.jwt.TokenPair;
 import com.analog.global.security.jwt.TokenType;
+import com.analog.global.security.revocation.AccessTokenRevocationList;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -38,8 +44,14 @@ public class AuthServiceImpl implements AuthService {
 	private final RefreshTokenService refreshTokenService;
 	private final RefreshTokenRepository refreshTokenRepository;
 	private final RefreshTokenHasher refreshTokenHasher;
+	private final Clock clock;
+	private final AccessTokenRevocationList accessTokenRevocationList;
+	private final PrincipalCache principalCache;
+	private final TransactionTemplate transactionTemplate;
 	
+	// 해시를 기다리는 동안 DB 커넥션을 잡고 있지 않는다. 저장은 save 의 트랜잭션 하나뿐이다
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public SignupResponse signup(SignupRequest request) {
 		if (userRepository.existsByEmail(request.email())) {
 			throw new BusinessException(ErrorCode.RES_409, "이미 사용 중인 이메일입니다.");
@@ -53,28 +65,47 @@ public class AuthServiceImpl implements AuthService {
 		return new SignupResponse(user.getId(), user.getEmail(), user.getName());
 	}
 
+	// 해시 검증은 트랜잭션 밖에서 하고, 해시 교체와 세션 저장만 짧은 트랜잭션으로 묶는다
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public LoginResponse login(LoginRequest request) {
-		User user = userRepository.findByEmail(request.email())
+		User found = userRepository.findByEmail(request.email())
 				.orElseThrow(() -> new BusinessException(ErrorCode.AUTH_401));
+		String verifiedHash = found.getPassword();
 		
-		boolean matched = passwordEncoder.matches(request.password(), user.getPassword());
+		boolean matched = passwordEncoder.matches(request.password(), verifiedHash);
 		if (!matched) {
 			throw new BusinessException(ErrorCode.AUTH_401);
 		}
 		
-		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
-		String refreshToken = jwtTokenProvider.createRefreshToken(user.getId());
-		
-		JwtClaims refreshClaims = jwtTokenProvider.parse(refreshToken);
-		refreshTokenService.upsert(user, refreshToken, refreshClaims.tokenId(), refreshClaims.expiresAt());
-		
-		LoginBody response = new LoginBody(user.getId(), user.getEmail(), user.getName(), accessToken);
-		
-		return new LoginResponse(response, refreshToken);
+		// 예전 알고리즘이나 낮은 cost 의 해시는 평문을 아는 지금 다시 해시한다
+		String rehashed = passwordEncoder.upgradeEncoding(verifiedHash)
+				? passwordEncoder.encode(request.password())
+				: null;
+		
+		return transactionTemplate.execute(status -> {
+			// 검증하는 사이 비밀번호가 바뀌었거나 탈퇴했다면 검증한 해시가 더 이상 유효하지 않다
+			User user = userRepository.findById(found.getId())
+					.filter(current -> verifiedHash.equals(current.getPassword()))
+					.orElseThrow(() -> new BusinessException(ErrorCode.AUTH_401));
+			
+			if (rehashed != null) {
+				user.rehashPassword(rehashed);
+				principalCache.evict(user.getId());
+			}
+			
+			TokenPair tokens = jwtTokenProvider.issueTokenPair(AuthPrincipal.from(user));
+			refreshTokenService.create(user, tokens.refreshToken());
+			
+			LoginBody response = new LoginBody(user.getId(), user.getEmail(), user.getName(), tokens.accessToken().token());
+			
+			return new LoginResponse(response, tokens.refreshToken().token());
+		});
 	}
 	
+	// 토큰 파싱/발급 동안 트랜잭션을 열어 두지 않는다. DB 작업은 RefreshTokenService.rotate 트랜잭션 하나뿐이다
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public ReissueResponse reissue(String rawRefreshToken) {
 		if (rawRefreshToken == null || rawRefreshToken.isBlank()) {
 			throw new BusinessException(ErrorCode.AUTH_401);
@@ -96,26 +127,29 @@ public class AuthServiceImpl implements AuthService {
 		Long userId = refreshClaims.userId();
 		String tokenId = refreshClaims.tokenId();
 		
-		RefreshToken stored = refreshTokenRepository.findByUserId(userId)
-				.orElseThrow(() -> new BusinessException(ErrorCode.AUTH_401));
+		// 클레임을 담는 설정일 때만 현재 role/version 을 읽는다
+		AuthPrincipal principal = jwtTokenProvider.embedsPrincipalClaims() ? currentPrincipal(userId) : null;
+		
+		// 새 토큰을 먼저 만들고, 저장된 세션은 조건부 UPDATE 한 번으로 바꾼다. 바뀐 행이 없으면 실패
+		TokenPair tokens = jwtTokenProvider.issueTokenPair(userId, principal, refreshClaims.familyId());
 		
-		String hashed = refreshTokenHasher.hash(rawRefreshToken);
-		if (!stored.getTokenHash().equals(hashed) || !stored.getTokenId().equals(tokenId)) {
+		if (!refreshTokenService.rotate(userId, tokenId, rawRefreshToken, tokens.refreshToken())) {
+			refreshTokenService.revokeIfReused(userId, refreshClaims.familyId(), tokenId);
 			throw new BusinessException(ErrorCode.AUTH_401);
 		}
 		
-		String newAccessToken = jwtTokenProvider.createAccessToken(userId);
-		String newRefreshToken = jwtTokenProvider.createRefreshToken(userId);
-		
-		JwtClaims newRefreshClaims = jwtTokenProvider.parse(newRefreshToken);
-		
-		refreshTokenService.upsert(stored.getUser(), newRefreshToken, newRefreshClaims.tokenId(), newRefreshClaims.expiresAt());
-		
-		return new ReissueResponse(newAccessToken, newRefreshToken);
+		return new ReissueResponse(tokens.accessToken().token(), tokens.refreshToken().token());
+	}
+	
+	private AuthPrincipal currentPrincipal(Long userId) {
+		return principalCache.get(userId)
+				.filter(user -> !user.isWithdrawn())
+				.map(AuthPrincipal::from)
+				.orElseThrow(() -> new BusinessException(ErrorCode.AUTH_401));
 	}
 	
 	@Override
-	public void logout(String rawRefreshToken) {
+	public void logout(String rawRefreshToken, String accessToken) {
 		if (rawRefreshToken == null || rawRefreshToken.isBlank()) {
 			throw new BusinessException(ErrorCode.AUTH_401);
 		}
@@ -133,18 +167,33 @@ public class AuthServiceImpl implements AuthService {
 		
 		Long userId = claims.userId();
 		String tokenId = claims.tokenId();
-		Optional<RefreshToken> optional = refreshTokenRepository.findByUserId(userId);
-		if (optional.isEmpty()) {
-			return;
-		}
+		// 이 기기의 세션만 지운다. 이미 재발급되었거나 지워진 jti 는 인증 실패로 본다
+		RefreshToken saved = refreshTokenRepository.findActiveByTokenId(tokenId, clock.instant())
+				.orElseThrow(() -> new BusinessException(ErrorCode.AUTH_401));
 		
-		RefreshToken saved = optional.get();
 		String tokenHash = refreshTokenHasher.hash(rawRefreshToken);
-		boolean matches = saved.getTokenId().equals(tokenId) && saved.getTokenHash().equals(tokenHash);
+		boolean matches = saved.getUser().getId().equals(userId) && saved.getTokenHash().equals(tokenHash);
 		if (!matches) {
 			throw new BusinessException(ErrorCode.AUTH_401);
 		}
 		
 		refreshTokenRepository.delete(saved);
+		revokeAccessToken(accessToken, userId);
+	}
+	
+	// 함께 온 access token 도 만료 전까지 쓰지 못하게 한다. 같은 사용자의 유효한 토큰일 때만 반영한다
+	private void revokeAccessToken(String accessToken, Long userId) {
+		if (accessToken == null || accessToken.isBlank()) {
+			return;
+		}
+		
+		try {
+			JwtClaims claims = jwtTokenProvider.parse(accessToken);
+			if (claims.tokenType() == TokenType.ACCESS && userId.equals(claims.userId())) {
+				accessTokenRevocationList.revoke(claims.tokenId(), claims.expiresAt());
+			}
+		} catch (JwtException | IllegalArgumentException e) {
+			// 이미 만료되었거나 잘못된 토큰은 폐기할 필요가 없다
+		}
 	}
 }
@@ -1,14 +1,22 @@
 package com.analog.domain.auth.service;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.analog.domain.auth.event.RefreshTokenReuseDetectedEvent;
 import com.analog.domain.auth.refreshToken.entity.RefreshToken;
 import com.analog.domain.auth.refreshToken.hash.RefreshTokenHasher;
 import com.analog.domain.auth.refreshToken.repository.RefreshTokenRepository;
 import com.analog.domain.user.entity.User;
+import com.analog.global.config.RefreshTokenProperties;
+import com.analog.global.security.jwt.IssuedToken;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,22 +26,75 @@ public class RefreshTokenService {
 
 	private final RefreshTokenRepository refreshTokenRepository;
     private final RefreshTokenHasher refreshTokenHasher;
+    private final RefreshTokenProperties props;
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
-    public void upsert(
+    public void create(User user, IssuedToken refreshToken) {
+    	create(user, refreshToken.token(), refreshToken.tokenId(), refreshToken.expiresAt());
+    }
+    
+    // 새 기기 세션을 추가한다. 로그인 때 발급된 토큰이므로 jti 가 곧 family id 다.
+    // 사용자당 maxSessions 개를 넘으면 가장 오래 쓰지 않은 세션부터 지운다
+    @Transactional
+    public void create(
     		User user,
     		String rawRefreshToken,
     		String tokenId,
     		Instant expiresAt
     ) {
     	String hash = refreshTokenHasher.hash(rawRefreshToken);
+    	refreshTokenRepository.save(RefreshToken.create(user, hash, tokenId, tokenId, expiresAt, clock.instant()));
+    	
+    	List<Long> ids = refreshTokenRepository.findIdsByUserIdOrderByRecentUse(user.getId());
+    	if (ids.size() > props.maxSessions()) {
+    		refreshTokenRepository.deleteByIdIn(ids.subList(props.maxSessions(), ids.size()));
+    	}
+    }
+    
+    // 회전에 성공하면 true. 이미 회전되었거나 만료/삭제된 세션이면 false
+    @Transactional
+    public boolean rotate(Long userId, String tokenId, String rawRefreshToken, IssuedToken next) {
+    	int updated = refreshTokenRepository.rotate(
+    			userId,
+    			tokenId,
+    			refreshTokenHasher.hash(rawRefreshToken),
+    			next.tokenId(),
+    			refreshTokenHasher.hash(next.token()),
+    			next.expiresAt(),
+    			clock.instant(),
+    			LocalDateTime.now(clock));
+    	
+    	return updated == 1;
+    }
+    
+    // 회전에 실패한 토큰의 family 가 다른 jti 로 살아 있다면 이미 회전된 토큰이 다시 쓰인 것이다.
+    // 어느 쪽이 탈취된 토큰인지 알 수 없으므로 family 전체를 끊는다
+    @Transactional
+    public boolean revokeIfReused(Long userId, String familyId, String tokenId) {
+    	Optional<RefreshToken> current = refreshTokenRepository.findByFamilyId(familyId);
+    	if (current.isEmpty()
+    			|| current.get().getTokenId().equals(tokenId)
+    			|| !current.get().getUser().getId().equals(userId)) {
+    		return false;
+    	}
+    	
+    	// 같은 토큰으로 동시에 보낸 재발급 중 진 쪽이면 방금 회전된 것이므로 세션을 살려 둔다
+    	Instant graceStart = clock.instant().minusSeconds(props.reuseGraceSeconds());
+    	if (current.get().getLastUsedAt().isAfter(graceStart)) {
+    		return false;
+    	}
     	
-    	refreshTokenRepository.findByUserId(user.getId())
-    	.ifPresentOrElse(
-    			existing -> existing.rotate(hash, tokenId, expiresAt),
-    			() -> refreshTokenRepository.save(
-    					RefreshToken.create(user, hash, tokenId, expiresAt)
-    					)
-    			);
+    	refreshTokenRepository.deleteByFamilyId(familyId);
+    	eventPublisher.publishEvent(new RefreshTokenReuseDetectedEvent(userId, familyId, tokenId, clock.instant()));
+    	
+    	return true;
+    }
+    
+    // 모든 기기에서 로그아웃
+    @Transactional
+    public void revokeAll(Long userId) {
+    	refreshTokenRepository.deleteByUserId(userId);
     }
 }
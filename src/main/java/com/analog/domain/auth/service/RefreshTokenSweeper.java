@@ -0,0 +1,61 @@
+package com.analog.domain.auth.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.analog.domain.auth.refreshToken.repository.RefreshTokenRepository;
+import com.analog.global.config.RefreshTokenProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 로그아웃하지 않은 사용자의 만료된 refresh token 행을 batchSize 개씩 지워 테이블 크기를 활성 세션 수에 맞춘다
+@Component
+public class RefreshTokenSweeper {
+
+	private final RefreshTokenRepository refreshTokenRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final RefreshTokenProperties props;
+	private final Clock clock;
+	
+	private final Counter swept;
+	
+	public RefreshTokenSweeper(RefreshTokenRepository refreshTokenRepository,
+							   TransactionTemplate transactionTemplate,
+							   RefreshTokenProperties props,
+							   Clock clock,
+							   MeterRegistry meterRegistry) {
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.props = props;
+		this.clock = clock;
+		
+		this.swept = meterRegistry.counter("auth.refresh.tokens.swept");
+	}
+	
+	@Scheduled(fixedDelayString = "${auth.refresh-token.sweep.interval-millis:3600000}")
+	public void sweep() {
+		Instant now = clock.instant();
+		
+		while (true) {
+			List<Long> ids = refreshTokenRepository.findExpiredIds(now, Limit.of(props.sweep().batchSize()));
+			if (ids.isEmpty()) {
+				return;
+			}
+			
+			// 배치마다 트랜잭션을 끊어 로그인/재발급과 잠금 경합을 짧게 유지한다
+			transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.deleteByIdIn(ids));
+			swept.increment(ids.size());
+			
+			if (ids.size() < props.sweep().batchSize()) {
+				return;
+			}
+		}
+	}
+}
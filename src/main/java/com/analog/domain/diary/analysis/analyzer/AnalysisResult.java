@@ -0,0 +1,11 @@
+package com.analog.domain.diary.analysis.analyzer;
+
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+
+public record AnalysisResult(
+		EmotionCategory emotionCategory,
+		double emotionScore,
+		String summarySentence
+) {
+
+}
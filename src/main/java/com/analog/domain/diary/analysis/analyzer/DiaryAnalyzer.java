@@ -0,0 +1,15 @@
+package com.analog.domain.diary.analysis.analyzer;
+
+import java.util.List;
+
+public interface DiaryAnalyzer {
+
+	AnalysisResult analyze(String content);
+	
+	// 모델 호출 한 번에 여러 일기를 분석한다. 결과는 입력과 같은 순서로 반환해야 한다
+	default List<AnalysisResult> analyzeBatch(List<String> contents) {
+		return contents.stream()
+				.map(this::analyze)
+				.toList();
+	}
+}
@@ -0,0 +1,67 @@
+package com.analog.domain.diary.analysis.analyzer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+
+// 네트워크 없이 동작하는 키워드 기반 분석기 (로컬/테스트용)
+@Component
+@ConditionalOnProperty(prefix = "diary.analysis", name = "analyzer", havingValue = "local", matchIfMissing = true)
+public class LocalDiaryAnalyzer implements DiaryAnalyzer {
+
+	private static final Map<EmotionCategory, List<String>> KEYWORDS = new LinkedHashMap<>();
+	
+	static {
+		KEYWORDS.put(EmotionCategory.ANGER, List.of("화가", "짜증", "분노", "억울"));
+		KEYWORDS.put(EmotionCategory.ANXIETY, List.of("불안", "걱정", "초조", "긴장"));
+		KEYWORDS.put(EmotionCategory.SADNESS, List.of("슬프", "우울", "눈물", "외로"));
+		KEYWORDS.put(EmotionCategory.JOY, List.of("기쁘", "행복", "즐거", "신나", "좋았"));
+		KEYWORDS.put(EmotionCategory.CALM, List.of("차분", "평온", "산책", "편안"));
+	}
+	
+	@Override
+	public AnalysisResult analyze(String content) {
+		EmotionCategory category = classify(content);
+		
+		return new AnalysisResult(category, scoreOf(category), sentenceOf(category));
+	}
+	
+	private EmotionCategory classify(String content) {
+		for (Map.Entry<EmotionCategory, List<String>> entry : KEYWORDS.entrySet()) {
+			for (String keyword : entry.getValue()) {
+				if (content.contains(keyword)) {
+					return entry.getKey();
+				}
+			}
+		}
+		
+		return EmotionCategory.NEUTRAL;
+	}
+	
+	private double scoreOf(EmotionCategory category) {
+		return switch (category) {
+			case JOY -> 0.7;
+			case CALM -> 0.4;
+			case NEUTRAL -> 0.0;
+			case ANXIETY -> -0.4;
+			case SADNESS -> -0.5;
+			case ANGER -> -0.6;
+		};
+	}
+	
+	private String sentenceOf(EmotionCategory category) {
+		return switch (category) {
+			case JOY -> "기쁜 감정이 돋보인 하루였다.";
+			case CALM -> "차분하고 안정된 하루였다.";
+			case NEUTRAL -> "특별한 감정의 기복 없이 지나간 하루였다.";
+			case ANXIETY -> "걱정과 긴장이 느껴지는 하루였다.";
+			case SADNESS -> "우울한 감정 속에서 보낸 하루였다.";
+			case ANGER -> "답답하고 화가 나는 일이 있었던 하루였다.";
+		};
+	}
+}
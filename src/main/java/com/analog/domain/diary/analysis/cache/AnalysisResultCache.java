@@ -0,0 +1,104 @@
+package com.analog.domain.diary.analysis.cache;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.analog.domain.diary.analysis.analyzer.AnalysisResult;
+import com.analog.domain.diary.analysis.cache.entity.CachedAnalysisResult;
+import com.analog.domain.diary.analysis.cache.repository.CachedAnalysisResultRepository;
+import com.analog.global.config.DiaryAnalysisProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+// 본문 해시 -> 분석 결과. 메모리 LRU 를 먼저 보고, 없으면 analysis_results 테이블을 본다
+@Slf4j
+@Component
+public class AnalysisResultCache {
+
+	private final CachedAnalysisResultRepository cachedAnalysisResultRepository;
+	private final Clock clock;
+	private final Cache<String, AnalysisResult> cache;
+	
+	private final LongAdder storeHits = new LongAdder();
+	private final LongAdder storeMisses = new LongAdder();
+	
+	public AnalysisResultCache(CachedAnalysisResultRepository cachedAnalysisResultRepository,
+							   DiaryAnalysisProperties props,
+							   Clock clock,
+							   MeterRegistry meterRegistry) {
+		this.cachedAnalysisResultRepository = cachedAnalysisResultRepository;
+		this.clock = clock;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(props.resultCache().maxSize())
+				.recordStats()
+				.build();
+		
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "diary.analysis.result");
+		Gauge.builder("diary.analysis.result.cache.hit.ratio", this, c -> c.cache.stats().hitRate())
+				.tag("tier", "memory")
+				.register(meterRegistry);
+		Gauge.builder("diary.analysis.result.cache.hit.ratio", this, AnalysisResultCache::storeHitRate)
+				.tag("tier", "store")
+				.register(meterRegistry);
+	}
+	
+	public Optional<AnalysisResult> get(String contentHash) {
+		// 테이블에도 없는 해시는 메모리에 올리지 않는다
+		return Optional.ofNullable(cache.get(contentHash, hash -> {
+			Optional<AnalysisResult> stored = cachedAnalysisResultRepository.findById(hash)
+					.map(CachedAnalysisResult::toResult);
+			(stored.isPresent() ? storeHits : storeMisses).increment();
+			return stored.orElse(null);
+		}));
+	}
+	
+	public Map<String, AnalysisResult> getAll(Collection<String> contentHashes) {
+		return cache.getAll(contentHashes, this::loadAll);
+	}
+	
+	public void put(String contentHash, AnalysisResult result) {
+		cache.put(contentHash, result);
+		
+		// 같은 본문을 다른 워커가 먼저 저장했다면 그 결과를 그대로 둔다
+		try {
+			cachedAnalysisResultRepository.insertIfAbsent(contentHash, result.emotionCategory().name(),
+					result.emotionScore(), result.summarySentence(), LocalDateTime.now(clock));
+		} catch (DataIntegrityViolationException ignored) {
+		} catch (DataAccessException e) {
+			// 저장에 실패해도 분석 결과는 그대로 반영하고, 다음에 같은 본문이 오면 모델을 다시 부른다
+			log.warn("Failed to store diary analysis result. contentHash={}", contentHash, e);
+		}
+	}
+	
+	private Map<String, AnalysisResult> loadAll(Set<? extends String> contentHashes) {
+		Map<String, AnalysisResult> loaded = new HashMap<>();
+		for (CachedAnalysisResult stored : cachedAnalysisResultRepository.findAllById(Set.copyOf(contentHashes))) {
+			loaded.put(stored.getContentHash(), stored.toResult());
+		}
+		
+		storeHits.add(loaded.size());
+		storeMisses.add(contentHashes.size() - loaded.size());
+		return loaded;
+	}
+	
+	private double storeHitRate() {
+		long hits = storeHits.sum();
+		long total = hits + storeMisses.sum();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+}
@@ -0,0 +1,28 @@
+package com.analog.domain.diary.analysis.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+// 공백만 다른 본문은 같은 분석 결과를 공유하도록 공백을 정규화한 뒤 SHA-256 으로 해시한다
+public final class ContentHash {
+
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	private static final HexFormat HEX = HexFormat.of();
+	
+	private ContentHash() {
+	}
+	
+	public static String of(String content) {
+		String normalized = WHITESPACE.matcher(content.strip()).replaceAll(" ");
+		
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HEX.formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.analog.domain.diary.analysis.cache.entity;
+
+import com.analog.domain.diary.analysis.analyzer.AnalysisResult;
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+import com.analog.global.common.entity.BaseTimeEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "analysis_results")
+public class CachedAnalysisResult extends BaseTimeEntity {
+
+	@Id
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "emotion_category", nullable = false)
+	private EmotionCategory emotionCategory;
+	
+	@Column(name = "emotion_score", nullable = false)
+	private double emotionScore;
+	
+	@Column(name = "summary_sentence", length = 500)
+	private String summarySentence;
+	
+	private CachedAnalysisResult(String contentHash, EmotionCategory emotionCategory, double emotionScore, String summarySentence) {
+		this.contentHash = contentHash;
+		this.emotionCategory = emotionCategory;
+		this.emotionScore = emotionScore;
+		this.summarySentence = summarySentence;
+	}
+	
+	public static CachedAnalysisResult of(String contentHash, AnalysisResult result) {
+		return new CachedAnalysisResult(contentHash, result.emotionCategory(), result.emotionScore(), result.summarySentence());
+	}
+	
+	public AnalysisResult toResult() {
+		return new AnalysisResult(emotionCategory, emotionScore, summarySentence);
+	}
+}
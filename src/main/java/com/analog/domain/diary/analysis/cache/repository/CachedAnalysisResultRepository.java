@@ -0,0 +1,28 @@
+package com.analog.domain.diary.analysis.cache.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analog.domain.diary.analysis.cache.entity.CachedAnalysisResult;
+
+public interface CachedAnalysisResultRepository extends JpaRepository<CachedAnalysisResult, String> {
+
+	// 같은 본문을 다른 워커가 먼저 저장했다면 덮어쓰지 않고 먼저 저장된 결과를 남긴다
+	@Transactional
+	@Modifying
+	@Query(value = """
+			insert ignore into analysis_results
+				(content_hash, emotion_category, emotion_score, summary_sentence, created_at, updated_at)
+			values (:contentHash, :emotionCategory, :emotionScore, :summarySentence, :now, :now)
+			""", nativeQuery = true)
+	int insertIfAbsent(@Param("contentHash") String contentHash,
+					   @Param("emotionCategory") String emotionCategory,
+					   @Param("emotionScore") double emotionScore,
+					   @Param("summarySentence") String summarySentence,
+					   @Param("now") LocalDateTime now);
+}
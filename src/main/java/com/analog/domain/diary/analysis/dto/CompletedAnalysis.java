@@ -0,0 +1,11 @@
+package com.analog.domain.diary.analysis.dto;
+
+import com.analog.domain.diary.analysis.analyzer.AnalysisResult;
+
+public record CompletedAnalysis(
+		Long analysisId,
+		String contentHash,
+		AnalysisResult result
+) {
+
+}
@@ -0,0 +1,13 @@
+package com.analog.domain.diary.analysis.dto;
+
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+
+public record EmotionStat(
+		EmotionCategory emotionCategory,
+		Long count,
+		Double scoreSum,
+		Double scoreMin,
+		Double scoreMax
+) {
+
+}
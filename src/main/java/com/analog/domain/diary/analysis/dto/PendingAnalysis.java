@@ -0,0 +1,9 @@
+package com.analog.domain.diary.analysis.dto;
+
+public record PendingAnalysis(
+		Long analysisId,
+		String contentHash,
+		String content
+) {
+
+}
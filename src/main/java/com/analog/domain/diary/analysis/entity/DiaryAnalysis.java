@@ -38,6 +38,16 @@ public class DiaryAnalysis extends BaseTimeEntity {
     @Column(nullable = false)
     private AnalysisStatus status;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "emotion_category")
+    private EmotionCategory emotionCategory;
+
+    @Column(name = "emotion_score")
+    private Double emotionScore;
+
+    @Column(name = "summary_sentence", length = 500)
+    private String summarySentence;
+
     @Column(name = "analyzed_at", nullable = false)
     private LocalDateTime analyzedAt;
     
@@ -50,4 +60,34 @@ public class DiaryAnalysis extends BaseTimeEntity {
     public static DiaryAnalysis create(Diary diary, AnalysisStatus status, LocalDateTime analyzedAt) {
         return new DiaryAnalysis(diary, status, analyzedAt);
     }
+
+    public static DiaryAnalysis pending(Diary diary, LocalDateTime requestedAt) {
+        return new DiaryAnalysis(diary, AnalysisStatus.PENDING, requestedAt);
+    }
+
+    public boolean isPending() {
+        return status == AnalysisStatus.PENDING;
+    }
+
+    public void succeed(EmotionCategory emotionCategory, double emotionScore, String summarySentence, LocalDateTime analyzedAt) {
+        this.status = AnalysisStatus.SUCCESS;
+        this.emotionCategory = emotionCategory;
+        this.emotionScore = emotionScore;
+        this.summarySentence = summarySentence;
+        this.analyzedAt = analyzedAt;
+    }
+
+    public void fail(LocalDateTime analyzedAt) {
+        this.status = AnalysisStatus.FAILED;
+        this.analyzedAt = analyzedAt;
+    }
+
+    // 본문이 바뀌어 다시 분석해야 할 때 이전 결과를 지운다
+    public void reset(LocalDateTime requestedAt) {
+        this.status = AnalysisStatus.PENDING;
+        this.emotionCategory = null;
+        this.emotionScore = null;
+        this.summarySentence = null;
+        this.analyzedAt = requestedAt;
+    }
 }
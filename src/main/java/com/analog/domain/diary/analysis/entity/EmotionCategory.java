@@ -0,0 +1,11 @@
+package com.analog.domain.diary.analysis.entity;
+
+public enum EmotionCategory {
+
+	JOY,
+	CALM,
+	SADNESS,
+	ANXIETY,
+	ANGER,
+	NEUTRAL
+}
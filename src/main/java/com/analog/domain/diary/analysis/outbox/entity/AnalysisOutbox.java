@@ -0,0 +1,56 @@
+package com.analog.domain.diary.analysis.outbox.entity;
+
+import java.time.Instant;
+
+import com.analog.global.common.entity.BaseTimeEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+		name = "analysis_outbox",
+		uniqueConstraints = @UniqueConstraint(name = "uk_analysis_outbox_diary_analysis_id", columnNames = "diary_analysis_id"),
+		indexes = @Index(name = "idx_analysis_outbox_available_at", columnList = "available_at")
+)
+public class AnalysisOutbox extends BaseTimeEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(name = "diary_analysis_id", nullable = false)
+	private Long diaryAnalysisId;
+	
+	@Column(nullable = false)
+	private int deliveries;
+	
+	// 이 시각 이후에만 poller가 가져갈 수 있다. 가져간 동안에는 lease 만료 시각이 된다
+	@Column(name = "available_at", nullable = false)
+	private Instant availableAt;
+	
+	private AnalysisOutbox(Long diaryAnalysisId, Instant availableAt) {
+		this.diaryAnalysisId = diaryAnalysisId;
+		this.availableAt = availableAt;
+	}
+	
+	public static AnalysisOutbox create(Long diaryAnalysisId, Instant availableAt) {
+		return new AnalysisOutbox(diaryAnalysisId, availableAt);
+	}
+	
+	public void claim(Instant leaseUntil) {
+		this.deliveries++;
+		this.availableAt = leaseUntil;
+	}
+}
@@ -0,0 +1,59 @@
+package com.analog.domain.diary.analysis.outbox.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.analog.domain.diary.analysis.outbox.entity.AnalysisOutbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface AnalysisOutboxRepository extends JpaRepository<AnalysisOutbox, Long> {
+
+	// SELECT ... FOR UPDATE SKIP LOCKED: 다른 인스턴스가 잡고 있는 행은 건너뛴다 (lock.timeout = -2)
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("select o from AnalysisOutbox o where o.availableAt <= :now order by o.id")
+	List<AnalysisOutbox> findClaimable(@Param("now") Instant now, Limit limit);
+	
+	@Modifying
+	@Query("delete from AnalysisOutbox o where o.diaryAnalysisId in :diaryAnalysisIds")
+	int deleteByDiaryAnalysisIdIn(@Param("diaryAnalysisIds") Collection<Long> diaryAnalysisIds);
+	
+	@Modifying
+	@Query("""
+			delete from AnalysisOutbox o
+			where o.diaryAnalysisId in (select a.id from DiaryAnalysis a where a.diary.id in :diaryIds)
+			""")
+	int deleteByDiaryIdIn(@Param("diaryIds") Collection<Long> diaryIds);
+	
+	// 분석하지 못하고 돌려놓는 것이므로 claim 에서 올린 전달 횟수도 되돌린다
+	@Modifying
+	@Query("""
+			update AnalysisOutbox o
+			set o.availableAt = :availableAt,
+			    o.deliveries = case when o.deliveries > 0 then o.deliveries - 1 else 0 end
+			where o.id = :id
+			""")
+	int release(@Param("id") Long id, @Param("availableAt") Instant availableAt);
+	
+	@Modifying
+	@Query("""
+			update AnalysisOutbox o
+			set o.availableAt = :availableAt,
+			    o.deliveries = case when o.deliveries > 0 then o.deliveries - 1 else 0 end
+			where o.diaryAnalysisId in :diaryAnalysisIds
+			""")
+	int releaseByDiaryAnalysisIdIn(@Param("diaryAnalysisIds") Collection<Long> diaryAnalysisIds, @Param("availableAt") Instant availableAt);
+	
+	boolean existsByDiaryAnalysisId(Long diaryAnalysisId);
+}
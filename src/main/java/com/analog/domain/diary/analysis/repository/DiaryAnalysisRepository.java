@@ -1,10 +1,66 @@
 package com.analog.domain.diary.analysis.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.analog.domain.diary.analysis.dto.EmotionStat;
+import com.analog.domain.diary.analysis.dto.PendingAnalysis;
+import com.analog.domain.diary.analysis.entity.AnalysisStatus;
 import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
 
+import jakarta.persistence.LockModeType;
+
 public interface DiaryAnalysisRepository extends JpaRepository<DiaryAnalysis, Long> {
 
-	long deleteByDiaryUserId(Long userId);
+	@Modifying
+	@Query("delete from DiaryAnalysis a where a.diary.id in :diaryIds")
+	int deleteByDiaryIdIn(@Param("diaryIds") Collection<Long> diaryIds);
+	
+	@Query("""
+			select new com.analog.domain.diary.analysis.dto.PendingAnalysis(a.id, d.contentHash, d.content)
+			from DiaryAnalysis a join a.diary d
+			where a.id in :ids and a.status = :status
+			""")
+	List<PendingAnalysis> findContents(@Param("ids") Collection<Long> ids, @Param("status") AnalysisStatus status);
+	
+	// 일기 수정과 분석 완료가 같은 행을 동시에 바꾸지 않도록 잠근다
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select a from DiaryAnalysis a join fetch a.diary where a.id in :ids")
+	List<DiaryAnalysis> findAllForUpdate(@Param("ids") Collection<Long> ids);
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select a from DiaryAnalysis a where a.diary.id = :diaryId")
+	Optional<DiaryAnalysis> findByDiaryIdForUpdate(@Param("diaryId") Long diaryId);
+	
+	// 요약 집계를 원본에서 다시 계산할 때 쓴다. (user_id, diary_date, id) 인덱스로 기간을 좁힌다
+	@Query("""
+			select new com.analog.domain.diary.analysis.dto.EmotionStat(
+				a.emotionCategory, count(a), sum(a.emotionScore), min(a.emotionScore), max(a.emotionScore))
+			from DiaryAnalysis a join a.diary d
+			where d.user.id = :userId
+			  and d.diaryDate between :from and :to
+			  and d.deletedAt is null
+			  and a.status = com.analog.domain.diary.analysis.entity.AnalysisStatus.SUCCESS
+			group by a.emotionCategory
+			""")
+	List<EmotionStat> aggregate(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+	
+	@Query("""
+			select a.summarySentence
+			from DiaryAnalysis a join a.diary d
+			where d.user.id = :userId
+			  and d.diaryDate between :from and :to
+			  and d.deletedAt is null
+			  and a.status = com.analog.domain.diary.analysis.entity.AnalysisStatus.SUCCESS
+			order by d.diaryDate, d.id
+			""")
+	List<String> findSummarySentences(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
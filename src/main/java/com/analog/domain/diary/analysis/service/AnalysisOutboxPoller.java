@@ -0,0 +1,43 @@
+package com.analog.domain.diary.analysis.service;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.analog.global.config.DiaryAnalysisProperties;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class AnalysisOutboxPoller {
+
+	private final AnalysisOutboxService analysisOutboxService;
+	private final DiaryAnalysisBatcher diaryAnalysisBatcher;
+	private final DiaryAnalysisProperties props;
+	
+	@Scheduled(fixedDelayString = "${diary.analysis.outbox.poll-interval-millis:1000}")
+	public void poll() {
+		// batcher 대기열에 여유가 있는 만큼만 가져오고, 배치가 가득 차 있으면 밀린 작업이 있다는 뜻이므로 바로 이어서 가져온다
+		while (true) {
+			int capacity = diaryAnalysisBatcher.remainingCapacity();
+			if (capacity <= 0) {
+				return;
+			}
+			
+			int limit = Math.min(capacity, props.outbox().batchSize());
+			List<ClaimedAnalysis> claimed = analysisOutboxService.claim(limit);
+			
+			for (ClaimedAnalysis job : claimed) {
+				if (!diaryAnalysisBatcher.submit(job)) {
+					analysisOutboxService.release(job.outboxId());
+				}
+			}
+			
+			if (claimed.size() < limit) {
+				return;
+			}
+		}
+	}
+}
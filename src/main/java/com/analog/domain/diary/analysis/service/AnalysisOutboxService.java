@@ -0,0 +1,53 @@
+package com.analog.domain.diary.analysis.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analog.domain.diary.analysis.outbox.entity.AnalysisOutbox;
+import com.analog.domain.diary.analysis.outbox.repository.AnalysisOutboxRepository;
+import com.analog.global.config.DiaryAnalysisProperties;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class AnalysisOutboxService {
+
+	private final AnalysisOutboxRepository analysisOutboxRepository;
+	private final DiaryAnalysisProperties props;
+	private final Clock clock;
+	
+	public void enqueue(Long analysisId) {
+		analysisOutboxRepository.save(AnalysisOutbox.create(analysisId, clock.instant()));
+	}
+	
+	// 아직 처리되지 않은 행이 남아 있으면 워커가 완료 시점에 본문 변경을 감지하고 다시 풀어준다
+	public void enqueueIfAbsent(Long analysisId) {
+		if (!analysisOutboxRepository.existsByDiaryAnalysisId(analysisId)) {
+			enqueue(analysisId);
+		}
+	}
+	
+	// 잡은 행은 lease 동안 다른 poller에게 보이지 않는다. 처리 중 JVM이 죽으면 lease 만료 후 다시 잡힌다
+	public List<ClaimedAnalysis> claim(int limit) {
+		Instant now = clock.instant();
+		Instant leaseUntil = now.plusSeconds(props.outbox().leaseSeconds());
+		
+		return analysisOutboxRepository.findClaimable(now, Limit.of(limit)).stream()
+				.map(outbox -> {
+					outbox.claim(leaseUntil);
+					return new ClaimedAnalysis(outbox.getId(), outbox.getDiaryAnalysisId(), outbox.getDeliveries());
+				})
+				.toList();
+	}
+	
+	public void release(Long outboxId) {
+		analysisOutboxRepository.release(outboxId, clock.instant());
+	}
+}
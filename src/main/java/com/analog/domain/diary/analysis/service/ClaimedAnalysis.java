@@ -0,0 +1,9 @@
+package com.analog.domain.diary.analysis.service;
+
+public record ClaimedAnalysis(
+		Long outboxId,
+		Long analysisId,
+		int deliveries
+) {
+
+}
@@ -0,0 +1,136 @@
+package com.analog.domain.diary.analysis.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.analog.global.config.DiaryAnalysisProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// 대기 중인 분석 작업을 최대 maxSize 개, 최대 maxLinger 동안 모아 한 번의 모델 호출로 넘긴다
+@Slf4j
+@Component
+public class DiaryAnalysisBatcher {
+
+	private final DiaryAnalysisWorker diaryAnalysisWorker;
+	private final AnalysisOutboxService analysisOutboxService;
+	private final DiaryAnalysisProperties props;
+	private final BlockingQueue<ClaimedAnalysis> queue;
+	
+	private final Counter rejected;
+	private final DistributionSummary batchSizes;
+	
+	private Thread dispatcher;
+	
+	public DiaryAnalysisBatcher(DiaryAnalysisWorker diaryAnalysisWorker,
+								AnalysisOutboxService analysisOutboxService,
+								DiaryAnalysisProperties props,
+								MeterRegistry meterRegistry) {
+		this.diaryAnalysisWorker = diaryAnalysisWorker;
+		this.analysisOutboxService = analysisOutboxService;
+		this.props = props;
+		this.queue = new ArrayBlockingQueue<>(props.queueCapacity());
+		
+		meterRegistry.gauge("diary.analysis.queue.size", queue, BlockingQueue::size);
+		this.rejected = meterRegistry.counter("diary.analysis.jobs", "result", "rejected");
+		this.batchSizes = meterRegistry.summary("diary.analysis.batch.size");
+	}
+	
+	@PostConstruct
+	void start() {
+		dispatcher = Thread.ofVirtual().name("diary-analysis-batcher").start(this::dispatchLoop);
+	}
+	
+	@PreDestroy
+	void stop() {
+		dispatcher.interrupt();
+	}
+	
+	public int remainingCapacity() {
+		return queue.remainingCapacity();
+	}
+	
+	public boolean submit(ClaimedAnalysis job) {
+		if (queue.offer(job)) {
+			return true;
+		}
+		
+		// 대기열이 가득 차면 outbox에 남겨두고 다음 poll 때 다시 가져간다
+		rejected.increment();
+		log.warn("Diary analysis queue is full. analysisId={} stays in outbox", job.analysisId());
+		return false;
+	}
+	
+	private void dispatchLoop() {
+		while (!Thread.currentThread().isInterrupted()) {
+			List<ClaimedAnalysis> batch;
+			try {
+				batch = nextBatch();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			batchSizes.record(batch.size());
+			
+			try {
+				// 워커의 동시 실행 수가 가득 차면 여기서 기다리고, 그동안 대기열이 차면서 poller가 속도를 늦춘다
+				diaryAnalysisWorker.execute(batch);
+			} catch (InterruptedException e) {
+				// 종료 중이면 lease 만료 후 다시 처리되도록 그대로 둔다
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				// 이 스레드가 죽으면 분석이 멈추므로 배치 하나만 돌려놓고 계속 돈다
+				log.error("Diary analysis batch dispatch failed. size={}", batch.size(), e);
+				release(batch);
+			}
+		}
+	}
+	
+	private void release(List<ClaimedAnalysis> batch) {
+		for (ClaimedAnalysis job : batch) {
+			try {
+				analysisOutboxService.release(job.outboxId());
+			} catch (RuntimeException e) {
+				log.warn("Failed to release diary analysis outbox. outboxId={}", job.outboxId(), e);
+			}
+		}
+	}
+	
+	private List<ClaimedAnalysis> nextBatch() throws InterruptedException {
+		int maxSize = props.batch().maxSize();
+		List<ClaimedAnalysis> batch = new ArrayList<>(maxSize);
+		batch.add(queue.take());
+		
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.batch().maxLingerMillis());
+		while (batch.size() < maxSize) {
+			queue.drainTo(batch, maxSize - batch.size());
+			if (batch.size() >= maxSize) {
+				break;
+			}
+			
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				break;
+			}
+			
+			ClaimedAnalysis next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				break;
+			}
+			batch.add(next);
+		}
+		
+		return batch;
+	}
+}
@@ -0,0 +1,112 @@
+package com.analog.domain.diary.analysis.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analog.domain.diary.analysis.analyzer.AnalysisResult;
+import com.analog.domain.diary.analysis.dto.CompletedAnalysis;
+import com.analog.domain.diary.analysis.dto.PendingAnalysis;
+import com.analog.domain.diary.analysis.entity.AnalysisStatus;
+import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
+import com.analog.domain.diary.analysis.outbox.repository.AnalysisOutboxRepository;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.summary.service.EmotionSummaryService;
+import com.analog.domain.summary.service.SummaryEntry;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class DiaryAnalysisService {
+
+	private final DiaryAnalysisRepository diaryAnalysisRepository;
+	private final AnalysisOutboxRepository analysisOutboxRepository;
+	private final EmotionSummaryService emotionSummaryService;
+	private final Clock clock;
+	
+	@Transactional(readOnly = true)
+	public List<PendingAnalysis> findPending(Collection<Long> analysisIds) {
+		return diaryAnalysisRepository.findContents(analysisIds, AnalysisStatus.PENDING);
+	}
+	
+	public void completeAll(List<CompletedAnalysis> completed) {
+		LocalDateTime now = LocalDateTime.now(clock);
+		Map<Long, CompletedAnalysis> byId = new HashMap<>();
+		completed.forEach(c -> byId.put(c.analysisId(), c));
+		
+		List<Long> stale = new ArrayList<>();
+		List<SummaryEntry> succeeded = new ArrayList<>();
+		for (DiaryAnalysis analysis : diaryAnalysisRepository.findAllForUpdate(byId.keySet())) {
+			// 그 사이 일기가 삭제됐거나 이미 처리된 경우는 무시한다
+			if (!analysis.isPending()) {
+				continue;
+			}
+			
+			// 분석하는 동안 본문이 수정됐다면 결과를 버리고 outbox 행을 다시 풀어 새 본문으로 분석한다
+			CompletedAnalysis c = byId.get(analysis.getId());
+			if (!c.contentHash().equals(analysis.getDiary().getContentHash())) {
+				stale.add(analysis.getId());
+				continue;
+			}
+			
+			AnalysisResult result = c.result();
+			analysis.succeed(result.emotionCategory(), result.emotionScore(), result.summarySentence(), now);
+			SummaryEntry.of(analysis.getDiary(), analysis).ifPresent(succeeded::add);
+		}
+		emotionSummaryService.includeAll(succeeded);
+		
+		Set<Long> done = new HashSet<>(byId.keySet());
+		stale.forEach(done::remove);
+		if (!done.isEmpty()) {
+			analysisOutboxRepository.deleteByDiaryAnalysisIdIn(done);
+		}
+		if (!stale.isEmpty()) {
+			analysisOutboxRepository.releaseByDiaryAnalysisIdIn(stale, clock.instant());
+		}
+	}
+	
+	public void failAll(List<PendingAnalysis> failed) {
+		LocalDateTime now = LocalDateTime.now(clock);
+		Map<Long, String> hashById = new HashMap<>();
+		failed.forEach(p -> hashById.put(p.analysisId(), p.contentHash()));
+		
+		List<Long> stale = new ArrayList<>();
+		for (DiaryAnalysis analysis : diaryAnalysisRepository.findAllForUpdate(hashById.keySet())) {
+			if (!analysis.isPending()) {
+				continue;
+			}
+			
+			// 실패한 것이 수정 전 본문이라면 실패로 남기지 않고 새 본문으로 다시 분석한다
+			if (!hashById.get(analysis.getId()).equals(analysis.getDiary().getContentHash())) {
+				stale.add(analysis.getId());
+				continue;
+			}
+			
+			analysis.fail(now);
+		}
+		
+		Set<Long> done = new HashSet<>(hashById.keySet());
+		stale.forEach(done::remove);
+		if (!done.isEmpty()) {
+			analysisOutboxRepository.deleteByDiaryAnalysisIdIn(done);
+		}
+		if (!stale.isEmpty()) {
+			analysisOutboxRepository.releaseByDiaryAnalysisIdIn(stale, clock.instant());
+		}
+	}
+	
+	public void discardAll(Collection<Long> analysisIds) {
+		analysisOutboxRepository.deleteByDiaryAnalysisIdIn(analysisIds);
+	}
+}
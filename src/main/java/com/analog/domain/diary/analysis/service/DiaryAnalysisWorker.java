@@ -0,0 +1,223 @@
+package com.analog.domain.diary.analysis.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.analog.domain.diary.analysis.analyzer.AnalysisResult;
+import com.analog.domain.diary.analysis.analyzer.DiaryAnalyzer;
+import com.analog.domain.diary.analysis.cache.AnalysisResultCache;
+import com.analog.domain.diary.analysis.dto.CompletedAnalysis;
+import com.analog.domain.diary.analysis.dto.PendingAnalysis;
+import com.analog.global.config.DiaryAnalysisProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class DiaryAnalysisWorker {
+
+	private final DiaryAnalyzer diaryAnalyzer;
+	private final DiaryAnalysisService diaryAnalysisService;
+	private final AnalysisResultCache analysisResultCache;
+	private final DiaryAnalysisProperties props;
+	private final Semaphore permits;
+	private final ExecutorService executor;
+	
+	private final Counter retried;
+	private final Counter succeeded;
+	private final Counter failed;
+	
+	public DiaryAnalysisWorker(DiaryAnalyzer diaryAnalyzer,
+							   DiaryAnalysisService diaryAnalysisService,
+							   AnalysisResultCache analysisResultCache,
+							   DiaryAnalysisProperties props,
+							   MeterRegistry meterRegistry) {
+		this.diaryAnalyzer = diaryAnalyzer;
+		this.diaryAnalysisService = diaryAnalysisService;
+		this.analysisResultCache = analysisResultCache;
+		this.props = props;
+		
+		// 가상 스레드를 쓰되 동시에 진행되는 모델 호출 수는 concurrency 로 묶는다
+		this.permits = new Semaphore(props.concurrency());
+		this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("diary-analysis-", 0).factory());
+		
+		this.retried = meterRegistry.counter("diary.analysis.jobs", "result", "retried");
+		this.succeeded = meterRegistry.counter("diary.analysis.jobs", "result", "success");
+		this.failed = meterRegistry.counter("diary.analysis.jobs", "result", "failed");
+	}
+	
+	public void execute(List<ClaimedAnalysis> batch) throws InterruptedException {
+		permits.acquire();
+		try {
+			executor.execute(() -> {
+				try {
+					process(batch);
+				} finally {
+					permits.release();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			permits.release();
+			throw e;
+		}
+	}
+	
+	private void process(List<ClaimedAnalysis> batch) {
+		Map<Long, ClaimedAnalysis> jobs = new LinkedHashMap<>();
+		for (ClaimedAnalysis job : batch) {
+			jobs.putIfAbsent(job.analysisId(), job);
+		}
+		
+		List<PendingAnalysis> pending = diaryAnalysisService.findPending(jobs.keySet());
+		
+		// 그 사이 삭제됐거나 이미 처리된 분석은 outbox에서만 지운다
+		Set<Long> missing = new HashSet<>(jobs.keySet());
+		pending.forEach(p -> missing.remove(p.analysisId()));
+		if (!missing.isEmpty()) {
+			diaryAnalysisService.discardAll(missing);
+		}
+		
+		// 처리 도중 인스턴스가 계속 죽는 작업은 무한히 재전달하지 않는다
+		List<PendingAnalysis> toAnalyze = new ArrayList<>(pending.size());
+		List<PendingAnalysis> exhausted = new ArrayList<>();
+		for (PendingAnalysis p : pending) {
+			if (jobs.get(p.analysisId()).deliveries() > props.outbox().maxDeliveries()) {
+				exhausted.add(p);
+			} else {
+				toAnalyze.add(p);
+			}
+		}
+		if (!exhausted.isEmpty()) {
+			log.warn("Diary analysis exceeded max deliveries. analysisIds={}",
+					exhausted.stream().map(PendingAnalysis::analysisId).toList());
+			diaryAnalysisService.failAll(exhausted);
+			failed.increment(exhausted.size());
+		}
+		
+		if (!toAnalyze.isEmpty()) {
+			analyze(toAnalyze);
+		}
+	}
+	
+	private void analyze(List<PendingAnalysis> pending) {
+		// 이미 분석한 적 있는 본문은 모델을 다시 부르지 않는다
+		Map<String, AnalysisResult> results = new HashMap<>(analysisResultCache.getAll(
+				pending.stream().map(PendingAnalysis::contentHash).collect(Collectors.toSet())));
+		
+		// 같은 배치 안에 같은 본문이 여러 번 있으면 한 번만 분석한다
+		Map<String, String> misses = new LinkedHashMap<>();
+		for (PendingAnalysis p : pending) {
+			if (!results.containsKey(p.contentHash())) {
+				misses.putIfAbsent(p.contentHash(), p.content());
+			}
+		}
+		
+		if (!misses.isEmpty()) {
+			Map<String, AnalysisResult> analyzed = analyzeWithRetry(misses);
+			if (analyzed == null) {
+				// 중단된 경우는 lease 만료 후 다시 처리되도록 그대로 둔다
+				if (Thread.currentThread().isInterrupted()) {
+					return;
+				}
+				
+				// 한 건 때문에 배치 전체가 실패했을 수 있으므로 한 건씩 다시 시도한다
+				analyzed = analyzeEach(misses);
+			}
+			analyzed.forEach(analysisResultCache::put);
+			results.putAll(analyzed);
+			
+			List<PendingAnalysis> unanalyzed = pending.stream()
+					.filter(p -> !results.containsKey(p.contentHash()))
+					.toList();
+			if (!unanalyzed.isEmpty()) {
+				diaryAnalysisService.failAll(unanalyzed);
+				failed.increment(unanalyzed.size());
+			}
+		}
+		
+		List<CompletedAnalysis> completed = pending.stream()
+				.filter(p -> results.containsKey(p.contentHash()))
+				.map(p -> new CompletedAnalysis(p.analysisId(), p.contentHash(), results.get(p.contentHash())))
+				.toList();
+		if (!completed.isEmpty()) {
+			diaryAnalysisService.completeAll(completed);
+			succeeded.increment(completed.size());
+		}
+	}
+	
+	// 실패하면 null
+	private Map<String, AnalysisResult> analyzeWithRetry(Map<String, String> contentsByHash) {
+		List<String> hashes = List.copyOf(contentsByHash.keySet());
+		List<String> contents = List.copyOf(contentsByHash.values());
+		
+		for (int attempt = 1; ; attempt++) {
+			try {
+				List<AnalysisResult> results = diaryAnalyzer.analyzeBatch(contents);
+				if (results.size() != contents.size()) {
+					throw new IllegalStateException("Analyzer returned " + results.size() + " results for " + contents.size() + " entries");
+				}
+				
+				Map<String, AnalysisResult> byHash = new HashMap<>();
+				for (int i = 0; i < hashes.size(); i++) {
+					byHash.put(hashes.get(i), results.get(i));
+				}
+				return byHash;
+			} catch (RuntimeException e) {
+				if (attempt >= props.maxAttempts()) {
+					log.warn("Diary analysis failed. entries={}, attempts={}", contents.size(), attempt, e);
+					return null;
+				}
+			}
+			
+			retried.increment();
+			if (!backoff(attempt)) {
+				return null;
+			}
+		}
+	}
+	
+	// 실패한 본문은 결과에서 빠진다
+	private Map<String, AnalysisResult> analyzeEach(Map<String, String> contentsByHash) {
+		Map<String, AnalysisResult> byHash = new HashMap<>();
+		contentsByHash.forEach((hash, content) -> {
+			try {
+				byHash.put(hash, diaryAnalyzer.analyze(content));
+			} catch (RuntimeException e) {
+				log.warn("Diary analysis failed for a single entry. contentHash={}", hash, e);
+			}
+		});
+		return byHash;
+	}
+	
+	private boolean backoff(int attempt) {
+		try {
+			Thread.sleep(props.retryBackoffMillis() << (attempt - 1));
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	@PreDestroy
+	void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+}
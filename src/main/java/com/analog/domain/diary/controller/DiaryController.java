@@ -2,14 +2,23 @@ package com.analog.domain.diary.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.analog.domain.diary.dto.request.CreateRequest;
+import com.analog.domain.diary.dto.request.DiaryListRequest;
+import com.analog.domain.diary.dto.request.UpdateRequest;
+import com.analog.domain.diary.dto.response.DiaryListResponse;
+import com.analog.domain.diary.dto.response.DiaryResponse;
 import com.analog.domain.diary.service.DiaryService;
-import com.analog.domain.user.entity.User;
 import com.analog.global.security.auth.AuthUser;
 
 import jakarta.validation.Valid;
@@ -22,11 +31,56 @@ public class DiaryController {
 
 	private final DiaryService diaryService;
 	
+	@GetMapping
+	public ResponseEntity<DiaryListResponse> getDiaries(@Valid @ModelAttribute DiaryListRequest request) {
+		Long userId = AuthUser.requireUserId();
+		
+		return ResponseEntity.ok(diaryService.getDiaries(userId, request));
+	}
+	
 	@PostMapping
 	public ResponseEntity<Void> createDiary(@RequestBody @Valid CreateRequest request) {
-		User user = AuthUser.requireUser();
-		diaryService.createDiary(user, request);
+		Long userId = AuthUser.requireUserId();
+		diaryService.createDiary(userId, request);
 		
 		return ResponseEntity.status(HttpStatus.CREATED).build();
 	}
+	
+	@GetMapping("/{diaryId}")
+	public ResponseEntity<DiaryResponse> getDiary(@PathVariable Long diaryId,
+												  @RequestParam(defaultValue = "false") boolean trash) {
+		Long userId = AuthUser.requireUserId();
+		
+		return ResponseEntity.ok(diaryService.getDiary(userId, diaryId, trash));
+	}
+	
+	@PatchMapping("/{diaryId}")
+	public ResponseEntity<DiaryResponse> updateDiary(@PathVariable Long diaryId, @RequestBody @Valid UpdateRequest request) {
+		Long userId = AuthUser.requireUserId();
+		
+		return ResponseEntity.ok(diaryService.updateDiary(userId, diaryId, request));
+	}
+	
+	@DeleteMapping("/{diaryId}")
+	public ResponseEntity<Void> trashDiary(@PathVariable Long diaryId) {
+		Long userId = AuthUser.requireUserId();
+		diaryService.trashDiary(userId, diaryId);
+		
+		return ResponseEntity.noContent().build();
+	}
+	
+	@DeleteMapping("/{diaryId}/force")
+	public ResponseEntity<Void> forceDeleteDiary(@PathVariable Long diaryId) {
+		Long userId = AuthUser.requireUserId();
+		diaryService.forceDeleteDiary(userId, diaryId);
+		
+		return ResponseEntity.noContent().build();
+	}
+	
+	@PostMapping("/{diaryId}/restore")
+	public ResponseEntity<DiaryResponse> restoreDiary(@PathVariable Long diaryId) {
+		Long userId = AuthUser.requireUserId();
+		
+		return ResponseEntity.ok(diaryService.restoreDiary(userId, diaryId));
+	}
 }
@@ -0,0 +1,39 @@
+package com.analog.domain.diary.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.analog.domain.diary.analysis.entity.AnalysisStatus;
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+import com.analog.domain.diary.dto.response.DiaryAnalysisResponse;
+import com.analog.domain.diary.dto.response.DiaryResponse;
+
+// 일기와 분석 결과를 한 번의 조회로 읽기 위한 projection. 목록에서는 content 가 미리보기로 잘려 있다
+public record DiaryView(
+		Long diaryId,
+		Long userId,
+		LocalDate diaryDate,
+		String title,
+		String content,
+		LocalDateTime createdAt,
+		LocalDateTime updatedAt,
+		LocalDateTime deletedAt,
+		AnalysisStatus analysisStatus,
+		EmotionCategory emotionCategory,
+		Double emotionScore,
+		String summarySentence,
+		LocalDateTime analyzedAt
+) {
+
+	public boolean isDeleted() {
+		return deletedAt != null;
+	}
+	
+	public DiaryResponse toResponse() {
+		DiaryAnalysisResponse analysis = analysisStatus == null
+				? null
+				: new DiaryAnalysisResponse(analysisStatus, emotionCategory, emotionScore, summarySentence, analyzedAt);
+		
+		return new DiaryResponse(diaryId, diaryDate, title, content, createdAt, updatedAt, deletedAt, analysis);
+	}
+}
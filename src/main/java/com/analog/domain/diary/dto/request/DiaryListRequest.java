@@ -0,0 +1,34 @@
+package com.analog.domain.diary.dto.request;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+// page 를 주면 페이지 번호 방식, 아니면 cursor 기반 방식으로 조회한다
+public record DiaryListRequest(
+		Boolean trash,
+		
+		LocalDate from,
+		
+		LocalDate to,
+		
+		@Min(value = 0, message = "page는 0 이상이어야 합니다.")
+		Integer page,
+		
+		@Min(value = 1, message = "size는 1 이상이어야 합니다.")
+		@Max(value = 100, message = "size는 100 이하여야 합니다.")
+		Integer size,
+		
+		String cursor
+) {
+
+	public DiaryListRequest {
+		if (trash == null) {
+			trash = false;
+		}
+		if (size == null) {
+			size = 10;
+		}
+	}
+}
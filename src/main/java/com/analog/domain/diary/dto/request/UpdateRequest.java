@@ -0,0 +1,25 @@
+package com.analog.domain.diary.dto.request;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.AssertTrue;
+
+// 보낸 항목만 수정한다
+public record UpdateRequest(
+		String title,
+		
+		String content,
+		
+		LocalDate diaryDate
+) {
+
+	@AssertTrue(message = "수정할 항목을 하나 이상 입력하세요.")
+	public boolean isAnyPresent() {
+		return title != null || content != null || diaryDate != null;
+	}
+	
+	@AssertTrue(message = "제목과 내용은 비워둘 수 없습니다.")
+	public boolean isNotBlank() {
+		return (title == null || !title.isBlank()) && (content == null || !content.isBlank());
+	}
+}
@@ -0,0 +1,16 @@
+package com.analog.domain.diary.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.analog.domain.diary.analysis.entity.AnalysisStatus;
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+
+public record DiaryAnalysisResponse(
+		AnalysisStatus status,
+		EmotionCategory emotionCategory,
+		Double emotionScore,
+		String summarySentence,
+		LocalDateTime analyzedAt
+) {
+
+}
@@ -0,0 +1,10 @@
+package com.analog.domain.diary.dto.response;
+
+import java.util.List;
+
+public record DiaryListResponse(
+		List<DiaryResponse> diaries,
+		PageInfo pageInfo
+) {
+
+}
@@ -0,0 +1,17 @@
+package com.analog.domain.diary.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record DiaryResponse(
+		Long diaryId,
+		LocalDate diaryDate,
+		String title,
+		String content,
+		LocalDateTime createdAt,
+		LocalDateTime updatedAt,
+		LocalDateTime deletedAt,
+		DiaryAnalysisResponse analysis
+) {
+
+}
@@ -0,0 +1,13 @@
+package com.analog.domain.diary.dto.response;
+
+// cursor 방식에서는 COUNT 를 하지 않으므로 page/totalElements/totalPages 가 null 이다
+public record PageInfo(
+		Integer page,
+		int size,
+		Long totalElements,
+		Integer totalPages,
+		boolean hasNext,
+		String nextCursor
+) {
+
+}
@@ -3,6 +3,7 @@ package com.analog.domain.diary.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import com.analog.domain.diary.analysis.cache.ContentHash;
 import com.analog.domain.user.entity.User;
 import com.analog.global.common.entity.BaseTimeEntity;
 
@@ -27,8 +28,9 @@ import lombok.NoArgsConstructor;
 @Table(
         name = "diaries",
         indexes = {
-                @Index(name = "idx_diaries_user_id", columnList = "user_id"),
-                @Index(name = "idx_diaries_diary_date", columnList = "diary_date"),
+                // 목록 조회 (user_id = ? order by diary_date desc, id desc) 와 user_id 단독 조회를 함께 받는다
+                @Index(name = "idx_diaries_user_id_diary_date_id", columnList = "user_id, diary_date, id"),
+                // 휴지통 보관 기간이 지난 일기 정리
                 @Index(name = "idx_diaries_deleted_at", columnList = "deleted_at")
         }
 )
@@ -48,6 +50,10 @@ public class Diary extends BaseTimeEntity {
     @Column(nullable = false)
 	private String content;
 	
+	// 분석 결과 캐시 키. 본문이 바뀔 때만 다시 분석한다
+	@Column(name = "content_hash", nullable = false, length = 64)
+	private String contentHash;
+	
 	@Column(name = "diary_date", nullable = false)
 	private LocalDate diaryDate;
 	
@@ -58,10 +64,44 @@ public class Diary extends BaseTimeEntity {
         this.user = user;
         this.title = title;
         this.content = content;
+        this.contentHash = ContentHash.of(content);
         this.diaryDate = diaryDate;
     }
 	
 	public static Diary create(User user, String title, String content, LocalDate diaryDate) {
         return new Diary(user, title, content, diaryDate);
     }
+	
+	// null 인 항목은 그대로 둔다. 본문이 (공백 정규화 기준으로) 바뀌었으면 true
+	public boolean update(String title, String content, LocalDate diaryDate) {
+		if (title != null) {
+			this.title = title;
+		}
+		if (diaryDate != null) {
+			this.diaryDate = diaryDate;
+		}
+		if (content == null) {
+			return false;
+		}
+		
+		String newHash = ContentHash.of(content);
+		boolean contentChanged = !newHash.equals(this.contentHash);
+		
+		this.content = content;
+		this.contentHash = newHash;
+		
+		return contentChanged;
+	}
+	
+	public void trash(LocalDateTime deletedAt) {
+		this.deletedAt = deletedAt;
+	}
+	
+	public void restore() {
+		this.deletedAt = null;
+	}
+	
+	public boolean isDeleted() {
+		return deletedAt != null;
+	}
 }
@@ -1,10 +1,90 @@
 package com.analog.domain.diary.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.analog.domain.diary.dto.DiaryView;
 import com.analog.domain.diary.entity.Diary;
 
 public interface DiaryRepository extends JpaRepository<Diary, Long> {
 
-	long deleteByUserId(Long userId);
+	@Query("select d.id from Diary d where d.user.id = :userId order by d.id")
+	List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+	
+	@Query("select d.id from Diary d where d.deletedAt < :before order by d.deletedAt")
+	List<Long> findTrashedIds(@Param("before") LocalDateTime before, Limit limit);
+	
+	// 지우기 직전에 보존 기간을 다시 확인하고 행을 잠가, 조회 후 복구된 일기는 지우지 않는다
+	@Query(value = "select id from diaries where id in (:ids) and deleted_at < :before for update", nativeQuery = true)
+	List<Long> lockTrashedIds(@Param("ids") Collection<Long> ids, @Param("before") LocalDateTime before);
+	
+	@Modifying
+	@Query("delete from Diary d where d.id in :ids")
+	int deleteByIdIn(@Param("ids") Collection<Long> ids);
+	
+	// 페이지 번호 방식. OFFSET 과 COUNT 비용은 페이지가 뒤로 갈수록 커진다
+	// 목록은 LOB 전체 대신 앞부분 200자만 읽는다 (cast 로 LOB 이 아닌 문자열로 받는다)
+	@Query(value = """
+			select new com.analog.domain.diary.dto.DiaryView(
+				d.id, d.user.id, d.diaryDate, d.title, cast(substring(d.content, 1, 200) as String),
+				d.createdAt, d.updatedAt, d.deletedAt,
+				a.status, a.emotionCategory, a.emotionScore, a.summarySentence, a.analyzedAt)
+			from Diary d left join DiaryAnalysis a on a.diary = d
+			where d.user.id = :userId
+			  and d.diaryDate between :from and :to
+			  and ((:trash = false and d.deletedAt is null) or (:trash = true and d.deletedAt is not null))
+			""",
+			countQuery = """
+			select count(d) from Diary d
+			where d.user.id = :userId
+			  and d.diaryDate between :from and :to
+			  and ((:trash = false and d.deletedAt is null) or (:trash = true and d.deletedAt is not null))
+			""")
+	Page<DiaryView> findPage(@Param("userId") Long userId,
+							 @Param("trash") boolean trash,
+							 @Param("from") LocalDate from,
+							 @Param("to") LocalDate to,
+							 Pageable pageable);
+	
+	// cursor 방식. 마지막으로 본 (diaryDate, id) 바로 다음 행부터 인덱스를 그대로 이어 읽는다
+	@Query("""
+			select new com.analog.domain.diary.dto.DiaryView(
+				d.id, d.user.id, d.diaryDate, d.title, cast(substring(d.content, 1, 200) as String),
+				d.createdAt, d.updatedAt, d.deletedAt,
+				a.status, a.emotionCategory, a.emotionScore, a.summarySentence, a.analyzedAt)
+			from Diary d left join DiaryAnalysis a on a.diary = d
+			where d.user.id = :userId
+			  and d.diaryDate between :from and :to
+			  and ((:trash = false and d.deletedAt is null) or (:trash = true and d.deletedAt is not null))
+			  and (d.diaryDate < :afterDate or (d.diaryDate = :afterDate and d.id < :afterId))
+			order by d.diaryDate desc, d.id desc
+			""")
+	List<DiaryView> findSlice(@Param("userId") Long userId,
+							  @Param("trash") boolean trash,
+							  @Param("from") LocalDate from,
+							  @Param("to") LocalDate to,
+							  @Param("afterDate") LocalDate afterDate,
+							  @Param("afterId") Long afterId,
+							  Limit limit);
+	
+	@Query("""
+			select new com.analog.domain.diary.dto.DiaryView(
+				d.id, d.user.id, d.diaryDate, d.title, d.content,
+				d.createdAt, d.updatedAt, d.deletedAt,
+				a.status, a.emotionCategory, a.emotionScore, a.summarySentence, a.analyzedAt)
+			from Diary d left join DiaryAnalysis a on a.diary = d
+			where d.id = :diaryId
+			""")
+	Optional<DiaryView> findView(@Param("diaryId") Long diaryId);
 }
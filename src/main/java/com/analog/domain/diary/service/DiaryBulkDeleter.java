@@ -0,0 +1,42 @@
+package com.analog.domain.diary.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analog.domain.diary.analysis.outbox.repository.AnalysisOutboxRepository;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.diary.repository.DiaryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 일기와 딸린 분석/outbox 행을 엔티티를 읽지 않고 테이블마다 한 문장으로 지운다
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class DiaryBulkDeleter {
+
+	private final DiaryRepository diaryRepository;
+	private final DiaryAnalysisRepository diaryAnalysisRepository;
+	private final AnalysisOutboxRepository analysisOutboxRepository;
+	
+	public int deleteAll(Collection<Long> diaryIds) {
+		analysisOutboxRepository.deleteByDiaryIdIn(diaryIds);
+		diaryAnalysisRepository.deleteByDiaryIdIn(diaryIds);
+		
+		return diaryRepository.deleteByIdIn(diaryIds);
+	}
+	
+	// 휴지통 정리용. 같은 트랜잭션 안에서 아직 before 이전에 휴지통에 들어간 일기만 지운다
+	public int deleteTrashed(Collection<Long> diaryIds, LocalDateTime before) {
+		List<Long> trashed = diaryRepository.lockTrashedIds(diaryIds, before);
+		if (trashed.isEmpty()) {
+			return 0;
+		}
+		
+		return deleteAll(trashed);
+	}
+}
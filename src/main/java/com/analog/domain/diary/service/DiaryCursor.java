@@ -0,0 +1,36 @@
+package com.analog.domain.diary.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.analog.domain.diary.dto.DiaryView;
+import com.analog.global.error.BusinessException;
+import com.analog.global.error.ErrorCode;
+
+// 목록은 (diary_date desc, id desc) 순서이므로 마지막으로 본 행의 (diaryDate, id) 다음부터 이어서 읽는다
+public record DiaryCursor(LocalDate diaryDate, Long id) {
+
+	public static final DiaryCursor FIRST = new DiaryCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+	
+	public static DiaryCursor after(DiaryView diary) {
+		return new DiaryCursor(diary.diaryDate(), diary.diaryId());
+	}
+	
+	public static DiaryCursor decode(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int sep = decoded.indexOf(':');
+			
+			return new DiaryCursor(LocalDate.parse(decoded.substring(0, sep)), Long.parseLong(decoded.substring(sep + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+			throw new BusinessException(ErrorCode.REQ_400, "잘못된 cursor 입니다.");
+		}
+	}
+	
+	public String encode() {
+		String raw = diaryDate + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -1,9 +1,24 @@
 package com.analog.domain.diary.service;
 
 import com.analog.domain.diary.dto.request.CreateRequest;
-import com.analog.domain.user.entity.User;
+import com.analog.domain.diary.dto.request.DiaryListRequest;
+import com.analog.domain.diary.dto.request.UpdateRequest;
+import com.analog.domain.diary.dto.response.DiaryListResponse;
+import com.analog.domain.diary.dto.response.DiaryResponse;
 
 public interface DiaryService {
 
-	void createDiary(User user, CreateRequest request);
+	void createDiary(Long userId, CreateRequest request);
+	
+	DiaryResponse updateDiary(Long userId, Long diaryId, UpdateRequest request);
+	
+	DiaryResponse getDiary(Long userId, Long diaryId, boolean trash);
+	
+	void trashDiary(Long userId, Long diaryId);
+	
+	DiaryResponse restoreDiary(Long userId, Long diaryId);
+	
+	void forceDeleteDiary(Long userId, Long diaryId);
+	
+	DiaryListResponse getDiaries(Long userId, DiaryListRequest request);
 }
@@ -1,12 +1,37 @@
 package com.analog.domain.diary.service;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.analog.domain.diary.analysis.analyzer.AnalysisResult;
+import com.analog.domain.diary.analysis.cache.AnalysisResultCache;
+import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.diary.analysis.service.AnalysisOutboxService;
+import com.analog.domain.diary.dto.DiaryView;
 import com.analog.domain.diary.dto.request.CreateRequest;
+import com.analog.domain.diary.dto.request.DiaryListRequest;
+import com.analog.domain.diary.dto.request.UpdateRequest;
+import com.analog.domain.diary.dto.response.DiaryListResponse;
+import com.analog.domain.diary.dto.response.DiaryResponse;
+import com.analog.domain.diary.dto.response.PageInfo;
 import com.analog.domain.diary.entity.Diary;
 import com.analog.domain.diary.repository.DiaryRepository;
-import com.analog.domain.user.entity.User;
+import com.analog.domain.summary.service.EmotionSummaryService;
+import com.analog.domain.summary.service.SummaryEntry;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.error.BusinessException;
+import com.analog.global.error.ErrorCode;
 
 import lombok.RequiredArgsConstructor;
 
@@ -15,9 +40,179 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class DiaryServiceImpl implements DiaryService {
 
+	private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+	private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "diaryDate", "id");
+
 	private final DiaryRepository diaryRepository;
+	private final UserRepository userRepository;
+	private final DiaryAnalysisRepository diaryAnalysisRepository;
+	private final AnalysisOutboxService analysisOutboxService;
+	private final AnalysisResultCache analysisResultCache;
+	private final EmotionSummaryService emotionSummaryService;
+	private final DiaryBulkDeleter diaryBulkDeleter;
+	private final Clock clock;
+	
+	public void createDiary(Long userId, CreateRequest request) {
+		Diary diary = diaryRepository.save(Diary.create(userRepository.getReferenceById(userId), request.title(), request.content(), request.diaryDate()));
+		DiaryAnalysis analysis = diaryAnalysisRepository.save(DiaryAnalysis.pending(diary, LocalDateTime.now(clock)));
+		
+		Optional<AnalysisResult> cached = analysisResultCache.get(diary.getContentHash());
+		if (cached.isPresent()) {
+			succeed(analysis, cached.get());
+			emotionSummaryService.update(Optional.empty(), SummaryEntry.of(diary, analysis));
+			return;
+		}
+		
+		// 같은 트랜잭션에서 outbox에 남겨두면 커밋 직후 JVM이 죽어도 분석이 유실되지 않는다
+		analysisOutboxService.enqueue(analysis.getId());
+	}
+	
+	public DiaryResponse updateDiary(Long userId, Long diaryId, UpdateRequest request) {
+		Diary diary = findOwned(userId, diaryId);
+		if (diary.isDeleted()) {
+			throw new BusinessException(ErrorCode.REQ_400, "휴지통에 있는 일기는 수정할 수 없습니다.");
+		}
+		
+		// 분석 행을 먼저 잠가 워커의 분석 완료와 순서를 맞춘다
+		DiaryAnalysis analysis = diaryAnalysisRepository.findByDiaryIdForUpdate(diaryId).orElse(null);
+		Optional<SummaryEntry> before = SummaryEntry.of(diary, analysis);
+		
+		// 제목이나 날짜만 바뀐 경우는 기존 분석 결과를 그대로 쓴다
+		if (diary.update(request.title(), request.content(), request.diaryDate())) {
+			analysis = requestReanalysis(diary, analysis);
+		}
+		emotionSummaryService.update(before, SummaryEntry.of(diary, analysis));
+		
+		return findView(diaryId).toResponse();
+	}
+	
+	public void trashDiary(Long userId, Long diaryId) {
+		Diary diary = findOwned(userId, diaryId);
+		if (diary.isDeleted()) {
+			throw new BusinessException(ErrorCode.RES_404, "일기를 찾을 수 없습니다.");
+		}
+		
+		DiaryAnalysis analysis = diaryAnalysisRepository.findByDiaryIdForUpdate(diaryId).orElse(null);
+		Optional<SummaryEntry> before = SummaryEntry.of(diary, analysis);
+		
+		diary.trash(LocalDateTime.now(clock));
+		emotionSummaryService.update(before, Optional.empty());
+	}
+	
+	public DiaryResponse restoreDiary(Long userId, Long diaryId) {
+		Diary diary = findOwned(userId, diaryId);
+		if (!diary.isDeleted()) {
+			throw new BusinessException(ErrorCode.RES_404, "휴지통에 있는 일기가 아닙니다.");
+		}
+		
+		DiaryAnalysis analysis = diaryAnalysisRepository.findByDiaryIdForUpdate(diaryId).orElse(null);
+		
+		diary.restore();
+		emotionSummaryService.update(Optional.empty(), SummaryEntry.of(diary, analysis));
+		
+		return findView(diaryId).toResponse();
+	}
+	
+	public void forceDeleteDiary(Long userId, Long diaryId) {
+		Diary diary = findOwned(userId, diaryId);
+		
+		// 휴지통을 거치지 않고 지우는 경우에는 집계에서도 빼야 한다
+		DiaryAnalysis analysis = diaryAnalysisRepository.findByDiaryIdForUpdate(diaryId).orElse(null);
+		emotionSummaryService.update(SummaryEntry.of(diary, analysis), Optional.empty());
+		
+		diaryBulkDeleter.deleteAll(List.of(diaryId));
+	}
+	
+	@Transactional(readOnly = true)
+	public DiaryResponse getDiary(Long userId, Long diaryId, boolean trash) {
+		DiaryView view = findView(diaryId);
+		
+		if (!view.userId().equals(userId)) {
+			throw new BusinessException(ErrorCode.AUTH_403);
+		}
+		if (view.isDeleted() != trash) {
+			throw new BusinessException(ErrorCode.RES_404, "일기를 찾을 수 없습니다.");
+		}
+		
+		return view.toResponse();
+	}
+	
+	@Transactional(readOnly = true)
+	public DiaryListResponse getDiaries(Long userId, DiaryListRequest request) {
+		if (request.from() != null && request.to() != null && request.from().isAfter(request.to())) {
+			throw new BusinessException(ErrorCode.REQ_400, "from은 to보다 늦을 수 없습니다.");
+		}
+		if (request.page() != null && request.cursor() != null) {
+			throw new BusinessException(ErrorCode.REQ_400, "page와 cursor는 함께 사용할 수 없습니다.");
+		}
+		
+		LocalDate from = request.from() != null ? request.from() : MIN_DATE;
+		LocalDate to = request.to() != null ? request.to() : DiaryCursor.FIRST.diaryDate();
+		int size = request.size();
+		
+		if (request.page() != null) {
+			Page<DiaryView> page = diaryRepository.findPage(userId, request.trash(), from, to,
+					PageRequest.of(request.page(), size, LATEST_FIRST));
+			List<DiaryView> diaries = page.getContent();
+			String nextCursor = page.hasNext() ? DiaryCursor.after(diaries.getLast()).encode() : null;
+			
+			return new DiaryListResponse(toResponses(diaries),
+					new PageInfo(page.getNumber(), size, page.getTotalElements(), page.getTotalPages(), page.hasNext(), nextCursor));
+		}
+		
+		// 한 건 더 읽어 다음 페이지 존재 여부를 COUNT 없이 판단한다
+		DiaryCursor after = request.cursor() != null ? DiaryCursor.decode(request.cursor()) : DiaryCursor.FIRST;
+		List<DiaryView> rows = diaryRepository.findSlice(userId, request.trash(), from, to,
+				after.diaryDate(), after.id(), Limit.of(size + 1));
+		
+		boolean hasNext = rows.size() > size;
+		List<DiaryView> diaries = hasNext ? rows.subList(0, size) : rows;
+		String nextCursor = hasNext ? DiaryCursor.after(diaries.getLast()).encode() : null;
+		
+		return new DiaryListResponse(toResponses(diaries), new PageInfo(null, size, null, null, hasNext, nextCursor));
+	}
+	
+	private DiaryAnalysis requestReanalysis(Diary diary, DiaryAnalysis analysis) {
+		LocalDateTime now = LocalDateTime.now(clock);
+		if (analysis == null) {
+			analysis = diaryAnalysisRepository.save(DiaryAnalysis.pending(diary, now));
+		} else {
+			analysis.reset(now);
+		}
+		
+		Optional<AnalysisResult> cached = analysisResultCache.get(diary.getContentHash());
+		if (cached.isPresent()) {
+			succeed(analysis, cached.get());
+		} else {
+			analysisOutboxService.enqueueIfAbsent(analysis.getId());
+		}
+		
+		return analysis;
+	}
+	
+	private Diary findOwned(Long userId, Long diaryId) {
+		Diary diary = diaryRepository.findById(diaryId)
+				.orElseThrow(() -> new BusinessException(ErrorCode.RES_404, "일기를 찾을 수 없습니다."));
+		
+		if (!diary.getUser().getId().equals(userId)) {
+			throw new BusinessException(ErrorCode.AUTH_403);
+		}
+		
+		return diary;
+	}
+	
+	private DiaryView findView(Long diaryId) {
+		return diaryRepository.findView(diaryId)
+				.orElseThrow(() -> new BusinessException(ErrorCode.RES_404, "일기를 찾을 수 없습니다."));
+	}
+	
+	private List<DiaryResponse> toResponses(List<DiaryView> diaries) {
+		return diaries.stream()
+				.map(DiaryView::toResponse)
+				.toList();
+	}
 	
-	public void createDiary(User user, CreateRequest request) {
-		diaryRepository.save(Diary.create(user, request.title(), request.content(), request.diaryDate()));
+	private void succeed(DiaryAnalysis analysis, AnalysisResult result) {
+		analysis.succeed(result.emotionCategory(), result.emotionScore(), result.summarySentence(), LocalDateTime.now(clock));
 	}
 }
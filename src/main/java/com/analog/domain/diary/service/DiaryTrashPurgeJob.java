@@ -0,0 +1,87 @@
+package com.analog.domain.diary.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.analog.domain.diary.repository.DiaryRepository;
+import com.analog.global.config.DiaryTrashProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// 휴지통에 retentionDays 이상 있던 일기를 영구 삭제한다.
+// batchSize 개씩 각자의 트랜잭션으로 지우고 초당 삭제 수를 제한해 운영 중 테이블을 오래 잠그지 않는다
+@Slf4j
+@Component
+public class DiaryTrashPurgeJob {
+
+	private final DiaryRepository diaryRepository;
+	private final DiaryBulkDeleter diaryBulkDeleter;
+	private final DiaryTrashProperties props;
+	private final Clock clock;
+	
+	private final Counter purged;
+	
+	public DiaryTrashPurgeJob(DiaryRepository diaryRepository,
+							  DiaryBulkDeleter diaryBulkDeleter,
+							  DiaryTrashProperties props,
+							  Clock clock,
+							  MeterRegistry meterRegistry) {
+		this.diaryRepository = diaryRepository;
+		this.diaryBulkDeleter = diaryBulkDeleter;
+		this.props = props;
+		this.clock = clock;
+		
+		this.purged = meterRegistry.counter("diary.trash.purged");
+	}
+	
+	@Scheduled(cron = "${diary.trash.cron:0 0 4 * * *}", zone = "UTC")
+	public void run() {
+		try {
+			purge();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	public long purge() throws InterruptedException {
+		LocalDateTime before = LocalDateTime.now(clock).minusDays(props.retentionDays());
+		long total = 0;
+		
+		while (true) {
+			long startedAt = System.nanoTime();
+			
+			List<Long> diaryIds = diaryRepository.findTrashedIds(before, Limit.of(props.batchSize()));
+			if (diaryIds.isEmpty()) {
+				break;
+			}
+			
+			int deleted = diaryBulkDeleter.deleteTrashed(diaryIds, before);
+			purged.increment(deleted);
+			total += deleted;
+			
+			if (diaryIds.size() < props.batchSize()) {
+				break;
+			}
+			
+			// 이번 배치가 maxDeletesPerSecond 기준으로 차지해야 할 시간만큼 쉰다
+			long budgetMillis = diaryIds.size() * 1000L / props.maxDeletesPerSecond();
+			long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+			if (budgetMillis > elapsedMillis) {
+				Thread.sleep(budgetMillis - elapsedMillis);
+			}
+		}
+		
+		if (total > 0) {
+			log.info("trashed diaries purged: count={}, trashedBefore={}", total, before);
+		}
+		
+		return total;
+	}
+}
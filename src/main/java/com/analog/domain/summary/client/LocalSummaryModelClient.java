@@ -0,0 +1,45 @@
+package com.analog.domain.summary.client;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+
+// 네트워크 없이 감정 집계만으로 문장을 만드는 요약기 (로컬/테스트용)
+@Component
+@ConditionalOnProperty(prefix = "summary", name = "model", havingValue = "local", matchIfMissing = true)
+public class LocalSummaryModelClient implements SummaryModelClient {
+
+	@Override
+	public String summarize(SummaryPrompt prompt) {
+		// 가장 많이 나타난 감정. 동률이면 enum 선언 순서가 앞선 감정
+		EmotionCategory dominant = prompt.emotionCounts().entrySet().stream()
+				.max(Map.Entry.<EmotionCategory, Integer>comparingByValue()
+						.thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+				.map(Map.Entry::getKey)
+				.orElse(EmotionCategory.NEUTRAL);
+		
+		return topic(prompt) + " 전반적으로 " + adjectiveOf(dominant) + " 날이 많았어요.";
+	}
+	
+	private String topic(SummaryPrompt prompt) {
+		return switch (prompt.periodType()) {
+			case WEEK -> "이번 주는";
+			case MONTH -> "이번 달은";
+		};
+	}
+	
+	private String adjectiveOf(EmotionCategory category) {
+		return switch (category) {
+			case JOY -> "기쁜";
+			case CALM -> "차분한";
+			case SADNESS -> "우울한";
+			case ANXIETY -> "불안한";
+			case ANGER -> "화가 나는";
+			case NEUTRAL -> "무난한";
+		};
+	}
+}
@@ -0,0 +1,6 @@
+package com.analog.domain.summary.client;
+
+public interface SummaryModelClient {
+
+	String summarize(SummaryPrompt prompt);
+}
@@ -0,0 +1,20 @@
+package com.analog.domain.summary.client;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+import com.analog.domain.summary.entity.PeriodType;
+
+public record SummaryPrompt(
+		PeriodType periodType,
+		LocalDate periodStart,
+		LocalDate periodEnd,
+		int entryCount,
+		double averageScore,
+		Map<EmotionCategory, Integer> emotionCounts,
+		List<String> dailySummaries
+) {
+
+}
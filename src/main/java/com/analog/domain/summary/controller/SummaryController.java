@@ -0,0 +1,38 @@
+package com.analog.domain.summary.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.analog.domain.summary.dto.response.SummaryResponse;
+import com.analog.domain.summary.service.SummaryService;
+import com.analog.global.security.auth.AuthUser;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/summaries")
+public class SummaryController {
+
+	private final SummaryService summaryService;
+	
+	@GetMapping("/weekly")
+	public ResponseEntity<SummaryResponse> weekly(@RequestParam(required = false) LocalDate date) {
+		Long userId = AuthUser.requireUserId();
+		
+		return ResponseEntity.ok(summaryService.getWeekly(userId, date));
+	}
+	
+	@GetMapping("/monthly")
+	public ResponseEntity<SummaryResponse> monthly(@RequestParam(required = false) Integer year,
+												   @RequestParam(required = false) Integer month) {
+		Long userId = AuthUser.requireUserId();
+		
+		return ResponseEntity.ok(summaryService.getMonthly(userId, year, month));
+	}
+}
@@ -0,0 +1,8 @@
+package com.analog.domain.summary.dto.response;
+
+public record SummaryResponse(
+		String period,
+		String summarySentence
+) {
+
+}
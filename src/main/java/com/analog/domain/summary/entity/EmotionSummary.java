@@ -0,0 +1,145 @@
+package com.analog.domain.summary.entity;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+import com.analog.global.common.entity.BaseTimeEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 사용자별 주간/월간 감정 집계. 분석 완료, 휴지통 이동/복구 시점에 증분으로 갱신된다
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+		name = "emotion_summaries",
+		uniqueConstraints = @UniqueConstraint(name = "uk_emotion_summaries_user_period", columnNames = {"user_id", "period_type", "period_start"})
+)
+public class EmotionSummary extends BaseTimeEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "period_type", nullable = false, length = 10)
+	private PeriodType periodType;
+	
+	@Column(name = "period_start", nullable = false)
+	private LocalDate periodStart;
+	
+	// 집계가 바뀔 때마다 올라간다. 생성된 요약이 어떤 집계로 만들어졌는지 비교하는 데 쓴다
+	@Column(nullable = false)
+	private long revision;
+	
+	@Column(name = "entry_count", nullable = false)
+	private int entryCount;
+	
+	@Column(name = "score_sum", nullable = false)
+	private double scoreSum;
+	
+	@Column(name = "score_min")
+	private Double scoreMin;
+	
+	@Column(name = "score_max")
+	private Double scoreMax;
+	
+	@Column(name = "joy_count", nullable = false)
+	private int joyCount;
+	
+	@Column(name = "calm_count", nullable = false)
+	private int calmCount;
+	
+	@Column(name = "sadness_count", nullable = false)
+	private int sadnessCount;
+	
+	@Column(name = "anxiety_count", nullable = false)
+	private int anxietyCount;
+	
+	@Column(name = "anger_count", nullable = false)
+	private int angerCount;
+	
+	@Column(name = "neutral_count", nullable = false)
+	private int neutralCount;
+	
+	public void add(EmotionCategory category, double score) {
+		entryCount++;
+		scoreSum += score;
+		scoreMin = scoreMin == null ? score : Math.min(scoreMin, score);
+		scoreMax = scoreMax == null ? score : Math.max(scoreMax, score);
+		adjust(category, 1);
+	}
+	
+	// 최솟값/최댓값은 빼는 것만으로 되돌릴 수 없으므로 경계값이 빠지면 false 를 돌려 재계산하게 한다
+	public boolean remove(EmotionCategory category, double score) {
+		entryCount--;
+		scoreSum -= score;
+		adjust(category, -1);
+		
+		if (entryCount <= 0) {
+			clear();
+			return true;
+		}
+		
+		return score != scoreMin && score != scoreMax;
+	}
+	
+	public void clear() {
+		entryCount = 0;
+		scoreSum = 0;
+		scoreMin = null;
+		scoreMax = null;
+		joyCount = calmCount = sadnessCount = anxietyCount = angerCount = neutralCount = 0;
+	}
+	
+	// 재계산 시 clear() 후 감정별 집계 행을 하나씩 더한다
+	public void accumulate(EmotionCategory category, long count, double sum, double min, double max) {
+		entryCount += (int) count;
+		scoreSum += sum;
+		scoreMin = scoreMin == null ? min : Math.min(scoreMin, min);
+		scoreMax = scoreMax == null ? max : Math.max(scoreMax, max);
+		adjust(category, (int) count);
+	}
+	
+	public void touch() {
+		revision++;
+	}
+	
+	public Map<EmotionCategory, Integer> emotionCounts() {
+		Map<EmotionCategory, Integer> counts = new EnumMap<>(EmotionCategory.class);
+		counts.put(EmotionCategory.JOY, joyCount);
+		counts.put(EmotionCategory.CALM, calmCount);
+		counts.put(EmotionCategory.SADNESS, sadnessCount);
+		counts.put(EmotionCategory.ANXIETY, anxietyCount);
+		counts.put(EmotionCategory.ANGER, angerCount);
+		counts.put(EmotionCategory.NEUTRAL, neutralCount);
+		return counts;
+	}
+	
+	private void adjust(EmotionCategory category, int delta) {
+		switch (category) {
+			case JOY -> joyCount += delta;
+			case CALM -> calmCount += delta;
+			case SADNESS -> sadnessCount += delta;
+			case ANXIETY -> anxietyCount += delta;
+			case ANGER -> angerCount += delta;
+			case NEUTRAL -> neutralCount += delta;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.analog.domain.summary.entity;
+
+import java.time.LocalDate;
+
+import com.analog.global.common.entity.BaseTimeEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 모델이 만든 요약 문장. 어떤 집계 revision 으로 만들었는지 함께 저장해 집계가 바뀌면 다시 만든다
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+		name = "generated_summaries",
+		uniqueConstraints = @UniqueConstraint(name = "uk_generated_summaries_user_period", columnNames = {"user_id", "period_type", "period_start"})
+)
+public class GeneratedSummary extends BaseTimeEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "period_type", nullable = false, length = 10)
+	private PeriodType periodType;
+	
+	@Column(name = "period_start", nullable = false)
+	private LocalDate periodStart;
+	
+	@Column(name = "source_revision", nullable = false)
+	private long sourceRevision;
+	
+	@Column(name = "summary_sentence", nullable = false, length = 1000)
+	private String summarySentence;
+	
+	private GeneratedSummary(Long userId, PeriodType periodType, LocalDate periodStart) {
+		this.userId = userId;
+		this.periodType = periodType;
+		this.periodStart = periodStart;
+	}
+	
+	public static GeneratedSummary create(Long userId, PeriodType periodType, LocalDate periodStart) {
+		return new GeneratedSummary(userId, periodType, periodStart);
+	}
+	
+	public void update(long sourceRevision, String summarySentence) {
+		this.sourceRevision = sourceRevision;
+		this.summarySentence = summarySentence;
+	}
+}
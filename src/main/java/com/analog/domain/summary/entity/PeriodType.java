@@ -0,0 +1,36 @@
+package com.analog.domain.summary.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// 주는 ISO 기준으로 월요일에 시작한다
+public enum PeriodType {
+
+	WEEK {
+		@Override
+		public LocalDate startOf(LocalDate date) {
+			return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		}
+		
+		@Override
+		public LocalDate endOf(LocalDate start) {
+			return start.plusDays(6);
+		}
+	},
+	MONTH {
+		@Override
+		public LocalDate startOf(LocalDate date) {
+			return date.withDayOfMonth(1);
+		}
+		
+		@Override
+		public LocalDate endOf(LocalDate start) {
+			return start.with(TemporalAdjusters.lastDayOfMonth());
+		}
+	};
+	
+	public abstract LocalDate startOf(LocalDate date);
+	
+	public abstract LocalDate endOf(LocalDate start);
+}
@@ -0,0 +1,85 @@
+package com.analog.domain.summary.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.analog.global.common.entity.BaseTimeEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 기간별 요약 사전 생성 작업의 진행 위치. 중간에 멈춰도 lastUserId 다음부터 이어서 처리한다
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+		name = "summary_precompute_checkpoints",
+		uniqueConstraints = @UniqueConstraint(name = "uk_summary_precompute_checkpoints_period", columnNames = {"period_type", "period_start"})
+)
+public class SummaryPrecomputeCheckpoint extends BaseTimeEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "period_type", nullable = false, length = 10)
+	private PeriodType periodType;
+	
+	@Column(name = "period_start", nullable = false)
+	private LocalDate periodStart;
+	
+	@Column(name = "last_user_id", nullable = false)
+	private long lastUserId;
+	
+	@Column(name = "processed_count", nullable = false)
+	private long processedCount;
+	
+	@Column(name = "failed_count", nullable = false)
+	private long failedCount;
+	
+	@Column(name = "completed_at")
+	private LocalDateTime completedAt;
+	
+	// 이 시각까지는 가져간 인스턴스만 실행한다. 인스턴스가 죽으면 lease 가 끝난 뒤 다른 인스턴스가 이어받는다
+	@Column(name = "leased_until")
+	private LocalDateTime leasedUntil;
+	
+	private SummaryPrecomputeCheckpoint(PeriodType periodType, LocalDate periodStart) {
+		this.periodType = periodType;
+		this.periodStart = periodStart;
+	}
+	
+	public static SummaryPrecomputeCheckpoint create(PeriodType periodType, LocalDate periodStart) {
+		return new SummaryPrecomputeCheckpoint(periodType, periodStart);
+	}
+	
+	public void advance(long lastUserId, int processed, int failed) {
+		this.lastUserId = lastUserId;
+		this.processedCount += processed;
+		this.failedCount += failed;
+	}
+	
+	public void extendLease(LocalDateTime leasedUntil) {
+		this.leasedUntil = leasedUntil;
+	}
+	
+	public void complete(LocalDateTime now) {
+		this.completedAt = now;
+		this.leasedUntil = null;
+	}
+	
+	public boolean isCompleted() {
+		return completedAt != null;
+	}
+}
@@ -0,0 +1,48 @@
+package com.analog.domain.summary.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.analog.domain.summary.entity.EmotionSummary;
+import com.analog.domain.summary.entity.PeriodType;
+
+import jakarta.persistence.LockModeType;
+
+public interface EmotionSummaryRepository extends JpaRepository<EmotionSummary, Long> {
+
+	// 동시에 같은 기간의 첫 행을 만들더라도 unique 충돌로 트랜잭션이 깨지지 않도록 INSERT IGNORE 로 만든다
+	@Modifying
+	@Query(value = """
+			insert ignore into emotion_summaries
+				(user_id, period_type, period_start, revision, entry_count, score_sum,
+				 joy_count, calm_count, sadness_count, anxiety_count, anger_count, neutral_count,
+				 created_at, updated_at)
+			values (:userId, :periodType, :periodStart, 0, 0, 0, 0, 0, 0, 0, 0, 0, :now, :now)
+			""", nativeQuery = true)
+	int insertIfAbsent(@Param("userId") Long userId,
+					   @Param("periodType") String periodType,
+					   @Param("periodStart") LocalDate periodStart,
+					   @Param("now") LocalDateTime now);
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("""
+			select s from EmotionSummary s
+			where s.userId = :userId and s.periodType = :periodType and s.periodStart = :periodStart
+			""")
+	Optional<EmotionSummary> findForUpdate(@Param("userId") Long userId,
+										   @Param("periodType") PeriodType periodType,
+										   @Param("periodStart") LocalDate periodStart);
+	
+	Optional<EmotionSummary> findByUserIdAndPeriodTypeAndPeriodStart(Long userId, PeriodType periodType, LocalDate periodStart);
+	
+	@Modifying
+	@Query("delete from EmotionSummary s where s.userId = :userId")
+	int deleteByUserId(@Param("userId") Long userId);
+}
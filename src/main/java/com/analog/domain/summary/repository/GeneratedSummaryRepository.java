@@ -0,0 +1,21 @@
+package com.analog.domain.summary.repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.analog.domain.summary.entity.GeneratedSummary;
+import com.analog.domain.summary.entity.PeriodType;
+
+public interface GeneratedSummaryRepository extends JpaRepository<GeneratedSummary, Long> {
+
+	Optional<GeneratedSummary> findByUserIdAndPeriodTypeAndPeriodStart(Long userId, PeriodType periodType, LocalDate periodStart);
+	
+	@Modifying
+	@Query("delete from GeneratedSummary s where s.userId = :userId")
+	int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,47 @@
+package com.analog.domain.summary.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analog.domain.summary.entity.PeriodType;
+import com.analog.domain.summary.entity.SummaryPrecomputeCheckpoint;
+
+public interface SummaryPrecomputeCheckpointRepository extends JpaRepository<SummaryPrecomputeCheckpoint, Long> {
+
+	Optional<SummaryPrecomputeCheckpoint> findByPeriodTypeAndPeriodStart(PeriodType periodType, LocalDate periodStart);
+	
+	// 여러 인스턴스가 같은 기간을 동시에 시작해도 unique 충돌 없이 행이 하나만 생기도록 INSERT IGNORE 로 만든다
+	@Transactional
+	@Modifying
+	@Query(value = """
+			insert ignore into summary_precompute_checkpoints
+				(period_type, period_start, last_user_id, processed_count, failed_count, created_at, updated_at)
+			values (:periodType, :periodStart, 0, 0, 0, :now, :now)
+			""", nativeQuery = true)
+	int insertIfAbsent(@Param("periodType") String periodType,
+					   @Param("periodStart") LocalDate periodStart,
+					   @Param("now") LocalDateTime now);
+	
+	// 끝나지 않았고 lease 가 비어 있거나 지난 경우에만 가져간다. 1 을 받은 인스턴스만 실행한다
+	@Transactional
+	@Modifying
+	@Query("""
+			update SummaryPrecomputeCheckpoint c
+			set c.leasedUntil = :leasedUntil, c.updatedAt = :now
+			where c.periodType = :periodType
+			  and c.periodStart = :periodStart
+			  and c.completedAt is null
+			  and (c.leasedUntil is null or c.leasedUntil <= :now)
+			""")
+	int claim(@Param("periodType") PeriodType periodType,
+			  @Param("periodStart") LocalDate periodStart,
+			  @Param("now") LocalDateTime now,
+			  @Param("leasedUntil") LocalDateTime leasedUntil);
+}
@@ -0,0 +1,118 @@
+package com.analog.domain.summary.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.analog.domain.diary.analysis.dto.EmotionStat;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.summary.entity.EmotionSummary;
+import com.analog.domain.summary.entity.PeriodType;
+import com.analog.domain.summary.repository.EmotionSummaryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class EmotionSummaryService {
+
+	private static final Comparator<SummaryKey> LOCK_ORDER = Comparator.comparing(SummaryKey::userId)
+			.thenComparing(SummaryKey::periodType)
+			.thenComparing(SummaryKey::periodStart);
+	
+	private final EmotionSummaryRepository emotionSummaryRepository;
+	private final DiaryAnalysisRepository diaryAnalysisRepository;
+	private final SummaryCache summaryCache;
+	private final Clock clock;
+	
+	// 일기 상태가 바뀌기 전/후의 집계 기여분 차이만큼 반영한다. 호출 전에 일기/분석 변경이 이미 적용되어 있어야 한다
+	public void update(Optional<SummaryEntry> before, Optional<SummaryEntry> after) {
+		if (before.equals(after)) {
+			return;
+		}
+		
+		List<Delta> deltas = new ArrayList<>(2);
+		before.ifPresent(e -> deltas.add(new Delta(e, false)));
+		after.ifPresent(e -> deltas.add(new Delta(e, true)));
+		apply(deltas);
+	}
+	
+	public void includeAll(Collection<SummaryEntry> entries) {
+		if (entries.isEmpty()) {
+			return;
+		}
+		
+		apply(entries.stream().map(e -> new Delta(e, true)).toList());
+	}
+	
+	@Transactional(readOnly = true)
+	public Optional<EmotionSummary> find(SummaryKey key) {
+		return emotionSummaryRepository.findByUserIdAndPeriodTypeAndPeriodStart(key.userId(), key.periodType(), key.periodStart());
+	}
+	
+	private void apply(List<Delta> deltas) {
+		// 여러 집계 행을 잠글 때 항상 같은 순서로 잠가 교착을 피한다
+		Map<SummaryKey, List<Delta>> byKey = new TreeMap<>(LOCK_ORDER);
+		for (Delta delta : deltas) {
+			for (PeriodType type : PeriodType.values()) {
+				SummaryKey key = new SummaryKey(delta.entry().userId(), type, type.startOf(delta.entry().diaryDate()));
+				byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(delta);
+			}
+		}
+		
+		LocalDateTime now = LocalDateTime.now(clock);
+		byKey.forEach((key, keyDeltas) -> {
+			EmotionSummary summary = lock(key, now);
+			
+			boolean consistent = true;
+			for (Delta delta : keyDeltas) {
+				SummaryEntry e = delta.entry();
+				if (delta.add()) {
+					summary.add(e.emotionCategory(), e.emotionScore());
+				} else {
+					consistent &= summary.remove(e.emotionCategory(), e.emotionScore());
+				}
+			}
+			
+			if (!consistent) {
+				recompute(summary);
+			}
+			
+			// 이 기간의 생성된 요약은 더 이상 맞지 않는다
+			summary.touch();
+			summaryCache.evict(key);
+		});
+	}
+	
+	private EmotionSummary lock(SummaryKey key, LocalDateTime now) {
+		emotionSummaryRepository.insertIfAbsent(key.userId(), key.periodType().name(), key.periodStart(), now);
+		
+		return emotionSummaryRepository.findForUpdate(key.userId(), key.periodType(), key.periodStart())
+				.orElseThrow(() -> new IllegalStateException("summary row missing after upsert: " + key));
+	}
+	
+	// 행을 잠근 상태에서 원본을 다시 읽으므로 같은 트랜잭션의 변경까지 반영된 값이 된다
+	private void recompute(EmotionSummary summary) {
+		LocalDate from = summary.getPeriodStart();
+		LocalDate to = summary.getPeriodType().endOf(from);
+		
+		summary.clear();
+		for (EmotionStat stat : diaryAnalysisRepository.aggregate(summary.getUserId(), from, to)) {
+			summary.accumulate(stat.emotionCategory(), stat.count(), stat.scoreSum(), stat.scoreMin(), stat.scoreMax());
+		}
+	}
+	
+	private record Delta(SummaryEntry entry, boolean add) {
+	}
+}
@@ -0,0 +1,91 @@
+package com.analog.domain.summary.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.analog.global.config.SummaryProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// (userId, 기간) -> 요약 문장. 해당 기간의 집계가 바뀔 때만 비워지므로 지난 기간은 사실상 계속 남는다
+@Component
+public class SummaryCache {
+
+	private final Cache<SummaryKey, String> cache;
+	
+	// 생성 중인 키. loader 는 모델을 부르므로 캐시의 compute 밖에서 실행하고,
+	// evict 는 이 작업을 기다리지 않고 목록에서만 빼서 끝난 결과가 캐시에 들어가지 않게 한다
+	private final ConcurrentMap<SummaryKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+	
+	public SummaryCache(SummaryProperties props, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(props.cache().maxSize())
+				.recordStats()
+				.build();
+		
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "summary");
+	}
+	
+	// 같은 키를 동시에 요청해도 loader 는 한 번만 실행되고, 나머지는 그 결과를 기다린다
+	public String get(SummaryKey key, Function<SummaryKey, String> loader) {
+		String cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+		
+		CompletableFuture<String> mine = new CompletableFuture<>();
+		CompletableFuture<String> running = inFlight.putIfAbsent(key, mine);
+		if (running != null) {
+			return await(running);
+		}
+		
+		try {
+			String value = loader.apply(key);
+			// 적재하는 동안 evict 됐다면 이전 집계로 만든 결과이므로 캐시에 넣지 않는다
+			cache.asMap().compute(key, (k, current) -> inFlight.remove(k, mine) ? value : current);
+			mine.complete(value);
+			return value;
+		} catch (RuntimeException e) {
+			inFlight.remove(key, mine);
+			mine.completeExceptionally(e);
+			throw e;
+		}
+	}
+	
+	public void evict(SummaryKey key) {
+		inFlight.remove(key);
+		cache.invalidate(key);
+		
+		// 커밋 전에 다른 요청이 이전 집계로 다시 적재할 수 있으므로 트랜잭션 종료 후 한 번 더 비운다
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					inFlight.remove(key);
+					cache.invalidate(key);
+				}
+			});
+		}
+	}
+	
+	private static String await(CompletableFuture<String> running) {
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.analog.domain.summary.service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import com.analog.domain.diary.analysis.entity.AnalysisStatus;
+import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+import com.analog.domain.diary.entity.Diary;
+
+// 요약 집계에 들어가는 일기 한 건. 휴지통에 있거나 분석이 끝나지 않은 일기는 집계에서 빠진다
+public record SummaryEntry(
+		Long userId,
+		LocalDate diaryDate,
+		EmotionCategory emotionCategory,
+		double emotionScore
+) {
+
+	public static Optional<SummaryEntry> of(Diary diary, DiaryAnalysis analysis) {
+		if (diary.isDeleted() || analysis == null || analysis.getStatus() != AnalysisStatus.SUCCESS) {
+			return Optional.empty();
+		}
+		
+		return Optional.of(new SummaryEntry(diary.getUser().getId(), diary.getDiaryDate(),
+				analysis.getEmotionCategory(), analysis.getEmotionScore()));
+	}
+}
@@ -0,0 +1,110 @@
+package com.analog.domain.summary.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.summary.client.SummaryModelClient;
+import com.analog.domain.summary.client.SummaryPrompt;
+import com.analog.domain.summary.entity.EmotionSummary;
+import com.analog.domain.summary.entity.GeneratedSummary;
+import com.analog.domain.summary.repository.GeneratedSummaryRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// 메모리 캐시 -> generated_summaries -> 모델 순서로 요약 문장을 찾는다.
+// 모델 호출 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 실행한다
+@Slf4j
+@Component
+public class SummaryGenerator {
+
+	private final EmotionSummaryService emotionSummaryService;
+	private final GeneratedSummaryRepository generatedSummaryRepository;
+	private final DiaryAnalysisRepository diaryAnalysisRepository;
+	private final SummaryModelClient summaryModelClient;
+	private final SummaryCache summaryCache;
+	
+	private final Counter storeHits;
+	private final Counter modelCalls;
+	
+	public SummaryGenerator(EmotionSummaryService emotionSummaryService,
+							GeneratedSummaryRepository generatedSummaryRepository,
+							DiaryAnalysisRepository diaryAnalysisRepository,
+							SummaryModelClient summaryModelClient,
+							SummaryCache summaryCache,
+							MeterRegistry meterRegistry) {
+		this.emotionSummaryService = emotionSummaryService;
+		this.generatedSummaryRepository = generatedSummaryRepository;
+		this.diaryAnalysisRepository = diaryAnalysisRepository;
+		this.summaryModelClient = summaryModelClient;
+		this.summaryCache = summaryCache;
+		
+		this.storeHits = meterRegistry.counter("summary.generation", "source", "store");
+		this.modelCalls = meterRegistry.counter("summary.generation", "source", "model");
+	}
+	
+	public String sentenceFor(SummaryKey key) {
+		return summaryCache.get(key, this::load);
+	}
+	
+	// 사전 생성용. generated_summaries 행만 만들고, 조회가 드문 사용자로 메모리 캐시를 밀어내지 않도록 캐시는 채우지 않는다
+	public void generate(SummaryKey key) {
+		load(key);
+	}
+	
+	private String load(SummaryKey key) {
+		Optional<EmotionSummary> aggregate = emotionSummaryService.find(key)
+				.filter(s -> s.getEntryCount() > 0);
+		if (aggregate.isEmpty()) {
+			return emptySentence(key);
+		}
+		
+		EmotionSummary summary = aggregate.get();
+		Optional<GeneratedSummary> stored = generatedSummaryRepository
+				.findByUserIdAndPeriodTypeAndPeriodStart(key.userId(), key.periodType(), key.periodStart());
+		if (stored.isPresent() && stored.get().getSourceRevision() == summary.getRevision()) {
+			storeHits.increment();
+			return stored.get().getSummarySentence();
+		}
+		
+		List<String> dailySummaries = diaryAnalysisRepository.findSummarySentences(key.userId(), key.periodStart(), key.periodEnd());
+		String sentence = summaryModelClient.summarize(new SummaryPrompt(
+				key.periodType(),
+				key.periodStart(),
+				key.periodEnd(),
+				summary.getEntryCount(),
+				summary.getScoreSum() / summary.getEntryCount(),
+				summary.emotionCounts(),
+				dailySummaries
+		));
+		modelCalls.increment();
+		
+		GeneratedSummary row = stored.orElseGet(() -> GeneratedSummary.create(key.userId(), key.periodType(), key.periodStart()));
+		row.update(summary.getRevision(), sentence);
+		
+		// 같은 기간의 첫 행을 다른 인스턴스가 먼저 만들었다면 unique 충돌로 저장되지 않는다.
+		// 그 행의 revision 이 오래됐으면 다음 조회 때 다시 만들어진다
+		try {
+			generatedSummaryRepository.save(row);
+		} catch (DataIntegrityViolationException ignored) {
+		} catch (DataAccessException e) {
+			log.warn("Failed to store generated summary. userId={}, periodType={}, periodStart={}",
+					key.userId(), key.periodType(), key.periodStart(), e);
+		}
+		
+		return sentence;
+	}
+	
+	private String emptySentence(SummaryKey key) {
+		return switch (key.periodType()) {
+			case WEEK -> "이번 주에는 분석된 일기가 없어요.";
+			case MONTH -> "이번 달에는 분석된 일기가 없어요.";
+		};
+	}
+}
@@ -0,0 +1,16 @@
+package com.analog.domain.summary.service;
+
+import java.time.LocalDate;
+
+import com.analog.domain.summary.entity.PeriodType;
+
+public record SummaryKey(
+		Long userId,
+		PeriodType periodType,
+		LocalDate periodStart
+) {
+
+	public LocalDate periodEnd() {
+		return periodType.endOf(periodStart);
+	}
+}
@@ -0,0 +1,172 @@
+package com.analog.domain.summary.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.analog.domain.summary.entity.PeriodType;
+import com.analog.domain.summary.entity.SummaryPrecomputeCheckpoint;
+import com.analog.domain.summary.repository.SummaryPrecomputeCheckpointRepository;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.config.SummaryProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// 월요일 아침에 요약 요청이 몰려 모델 호출이 한꺼번에 일어나지 않도록 지난주 요약을 밤사이 미리 만들어 둔다
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "summary.precompute", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SummaryPrecomputeJob {
+
+	private final UserRepository userRepository;
+	private final SummaryPrecomputeCheckpointRepository checkpointRepository;
+	private final SummaryGenerator summaryGenerator;
+	private final SummaryProperties props;
+	private final Clock clock;
+	private final Semaphore permits;
+	private final ExecutorService executor;
+	
+	private final Counter generated;
+	private final Counter failed;
+	private final Timer userTimer;
+	private final Timer runTimer;
+	
+	public SummaryPrecomputeJob(UserRepository userRepository,
+								SummaryPrecomputeCheckpointRepository checkpointRepository,
+								SummaryGenerator summaryGenerator,
+								SummaryProperties props,
+								Clock clock,
+								MeterRegistry meterRegistry) {
+		this.userRepository = userRepository;
+		this.checkpointRepository = checkpointRepository;
+		this.summaryGenerator = summaryGenerator;
+		this.props = props;
+		this.clock = clock;
+		
+		this.permits = new Semaphore(props.precompute().concurrency());
+		this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("summary-precompute-", 0).factory());
+		
+		this.generated = meterRegistry.counter("summary.precompute.users", "result", "success");
+		this.failed = meterRegistry.counter("summary.precompute.users", "result", "failed");
+		this.userTimer = meterRegistry.timer("summary.precompute.user");
+		this.runTimer = meterRegistry.timer("summary.precompute.run");
+	}
+	
+	@Scheduled(cron = "${summary.precompute.cron:0 30 0 * * *}", zone = "UTC")
+	public void run() {
+		LocalDate lastWeek = PeriodType.WEEK.startOf(LocalDate.now(clock)).minusWeeks(1);
+		
+		try {
+			precompute(lastWeek);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	public void precompute(LocalDate weekStart) throws InterruptedException {
+		// 여러 인스턴스에서 cron 이 함께 돌아도 lease 를 가져간 하나만 실행한다
+		LocalDateTime now = LocalDateTime.now(clock);
+		checkpointRepository.insertIfAbsent(PeriodType.WEEK.name(), weekStart, now);
+		if (checkpointRepository.claim(PeriodType.WEEK, weekStart, now, leaseFrom(now)) == 0) {
+			log.info("weekly summary precompute skipped, already completed or running elsewhere: weekStart={}", weekStart);
+			return;
+		}
+		
+		SummaryPrecomputeCheckpoint checkpoint = checkpointRepository.findByPeriodTypeAndPeriodStart(PeriodType.WEEK, weekStart)
+				.orElseThrow();
+		
+		int chunkSize = props.precompute().chunkSize();
+		long startedAt = System.nanoTime();
+		long processed = 0;
+		
+		while (true) {
+			// id 순서로 커서를 옮기며 지난주 집계가 있는 사용자만 가져온다
+			List<Long> userIds = userRepository.findIdsWithSummaryAfter(
+					checkpoint.getLastUserId(), PeriodType.WEEK, weekStart, Limit.of(chunkSize));
+			if (userIds.isEmpty()) {
+				break;
+			}
+			
+			int failures = generateAll(userIds, weekStart);
+			
+			// 청크가 끝날 때마다 기록해 두므로 재시작하면 마지막으로 끝낸 청크 다음부터 처리한다
+			checkpoint.advance(userIds.getLast(), userIds.size(), failures);
+			checkpoint.extendLease(leaseFrom(LocalDateTime.now(clock)));
+			checkpoint = checkpointRepository.save(checkpoint);
+			processed += userIds.size();
+			
+			if (userIds.size() < chunkSize) {
+				break;
+			}
+		}
+		
+		checkpoint.complete(LocalDateTime.now(clock));
+		checkpointRepository.save(checkpoint);
+		
+		long elapsedNanos = System.nanoTime() - startedAt;
+		runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+		
+		long millis = Math.max(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), 1);
+		log.info("weekly summaries precomputed: weekStart={}, users={}, failed={}, elapsedMillis={}, usersPerSecond={}",
+				weekStart, processed, checkpoint.getFailedCount(), millis, processed * 1000 / millis);
+	}
+	
+	private LocalDateTime leaseFrom(LocalDateTime now) {
+		return now.plusSeconds(props.precompute().leaseSeconds());
+	}
+	
+	// 한 청크를 동시에 concurrency 개씩 생성하고, 청크가 모두 끝날 때까지 기다린다
+	private int generateAll(List<Long> userIds, LocalDate weekStart) throws InterruptedException {
+		List<Future<?>> futures = new ArrayList<>(userIds.size());
+		for (Long userId : userIds) {
+			SummaryKey key = new SummaryKey(userId, PeriodType.WEEK, weekStart);
+			
+			permits.acquire();
+			futures.add(executor.submit(() -> {
+				try {
+					userTimer.record(() -> summaryGenerator.generate(key));
+					generated.increment();
+				} finally {
+					permits.release();
+				}
+			}));
+		}
+		
+		// 실패한 사용자는 조회 시점에 다시 생성되므로 건너뛰고 계속 진행한다
+		int failures = 0;
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				futures.get(i).get();
+			} catch (ExecutionException e) {
+				failures++;
+				failed.increment();
+				log.warn("summary precompute failed: userId={}, weekStart={}", userIds.get(i), weekStart, e.getCause());
+			}
+		}
+		
+		return failures;
+	}
+	
+	@PreDestroy
+	void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+}
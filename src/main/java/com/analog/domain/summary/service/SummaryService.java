@@ -0,0 +1,12 @@
+package com.analog.domain.summary.service;
+
+import java.time.LocalDate;
+
+import com.analog.domain.summary.dto.response.SummaryResponse;
+
+public interface SummaryService {
+
+	SummaryResponse getWeekly(Long userId, LocalDate date);
+	
+	SummaryResponse getMonthly(Long userId, Integer year, Integer month);
+}
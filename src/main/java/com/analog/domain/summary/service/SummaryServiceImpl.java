@@ -0,0 +1,52 @@
+package com.analog.domain.summary.service;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Service;
+
+import com.analog.domain.summary.dto.response.SummaryResponse;
+import com.analog.domain.summary.entity.PeriodType;
+import com.analog.global.error.BusinessException;
+import com.analog.global.error.ErrorCode;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class SummaryServiceImpl implements SummaryService {
+
+	private final SummaryGenerator summaryGenerator;
+	private final Clock clock;
+	
+	@Override
+	public SummaryResponse getWeekly(Long userId, LocalDate date) {
+		LocalDate base = date != null ? date : LocalDate.now(clock);
+		
+		return summarize(userId, PeriodType.WEEK, PeriodType.WEEK.startOf(base));
+	}
+	
+	@Override
+	public SummaryResponse getMonthly(Long userId, Integer year, Integer month) {
+		LocalDate today = LocalDate.now(clock);
+		int y = year != null ? year : today.getYear();
+		int m = month != null ? month : today.getMonthValue();
+		
+		if (y < 1970) {
+			throw new BusinessException(ErrorCode.REQ_400, "year는 1970 이상이어야 합니다.");
+		}
+		
+		try {
+			return summarize(userId, PeriodType.MONTH, LocalDate.of(y, m, 1));
+		} catch (DateTimeException e) {
+			throw new BusinessException(ErrorCode.REQ_400, "month는 1에서 12 사이여야 합니다.");
+		}
+	}
+	
+	private SummaryResponse summarize(Long userId, PeriodType periodType, LocalDate start) {
+		SummaryKey key = new SummaryKey(userId, periodType, start);
+		
+		return new SummaryResponse(start + " ~ " + key.periodEnd(), summaryGenerator.sentenceFor(key));
+	}
+}
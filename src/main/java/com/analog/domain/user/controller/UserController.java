@@ -59,7 +59,7 @@ public class UserController {
 	
 	@DeleteMapping("/me")
 	public ResponseEntity<Void> withdrawMe(@Valid @RequestBody WithdrawRequest request, HttpServletResponse response) {
-		Long userId = AuthUser.requireUser().getId();
+		Long userId = AuthUser.requireUserId();
 		userService.withdraw(userId, request.password(), response);
 		
 		return ResponseEntity.noContent().build();
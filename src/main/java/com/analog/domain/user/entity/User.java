@@ -1,5 +1,6 @@
 package com.analog.domain.user.entity;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 import com.analog.global.common.entity.BaseTimeEntity;
@@ -11,6 +12,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
@@ -25,7 +27,8 @@ import lombok.NoArgsConstructor;
 		uniqueConstraints = {
 				@UniqueConstraint(name = "uk_users_email", columnNames = "email"),
 				@UniqueConstraint(name = "uk_users_provider_id", columnNames = {"provider", "provider_id"})
-		}
+		},
+		indexes = @Index(name = "idx_users_withdrawn_at", columnList = "withdrawn_at")
 )
 public class User extends BaseTimeEntity {
 
@@ -49,6 +52,14 @@ public class User extends BaseTimeEntity {
 	@Enumerated(EnumType.STRING)
 	@Column(nullable = false)
 	private UserRole role;
+	
+	// 탈퇴 요청 시각. 값이 있으면 데이터가 정리되기 전이라도 인증에서 제외된다
+	@Column(name = "withdrawn_at")
+	private LocalDateTime withdrawnAt;
+	
+	// access token 에 담긴 role/provider 를 무효화하기 위한 버전. 인증 정보가 바뀔 때마다 올린다
+	@Column(name = "token_version", nullable = false)
+	private long tokenVersion;
 
 	private User(String email, String password, String name, AuthProvider provider, String providerId, UserRole role) {
 		this.email = email;
@@ -89,9 +100,30 @@ public class User extends BaseTimeEntity {
 
     public void updatePasswordHash(String passwordHash) {
     	this.password = passwordHash;
+    	this.tokenVersion++;
+    }
+
+    // 같은 비밀번호를 새 알고리즘/cost 로 다시 해시한 것이므로 토큰 버전은 그대로 둔다
+    public void rehashPassword(String passwordHash) {
+    	this.password = passwordHash;
     }
 
     public void promoteToAdmin() {
     	this.role = UserRole.ADMIN;
+    	this.tokenVersion++;
+    }
+    
+    // 개인정보와 unique 키를 바로 비워 같은 이메일/소셜 계정으로 다시 가입할 수 있게 한다
+    public void withdraw(LocalDateTime now) {
+    	this.email = null;
+    	this.password = null;
+    	this.name = null;
+    	this.providerId = null;
+    	this.withdrawnAt = now;
+    	this.tokenVersion++;
+    }
+    
+    public boolean isWithdrawn() {
+    	return withdrawnAt != null;
     }
 }
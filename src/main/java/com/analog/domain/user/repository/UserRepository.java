@@ -1,9 +1,17 @@
 package com.analog.domain.user.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.analog.domain.summary.entity.PeriodType;
 import com.analog.domain.user.entity.AuthProvider;
 import com.analog.domain.user.entity.User;
 
@@ -16,4 +24,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	boolean existsByEmail(String email);
 	
 	boolean existsByProviderAndProviderId(AuthProvider provider, String providerId);
+	
+	// 해당 기간에 분석된 일기가 있는 사용자 id 를 afterId 다음부터 순서대로 가져온다
+	@Query("""
+			select u.id
+			from User u
+			where u.id > :afterId
+			  and u.withdrawnAt is null
+			  and exists (
+			  	select 1 from EmotionSummary s
+			  	where s.userId = u.id
+			  	  and s.periodType = :periodType
+			  	  and s.periodStart = :periodStart
+			  	  and s.entryCount > 0
+			  )
+			order by u.id
+			""")
+	List<Long> findIdsWithSummaryAfter(@Param("afterId") long afterId,
+									   @Param("periodType") PeriodType periodType,
+									   @Param("periodStart") LocalDate periodStart,
+									   Limit limit);
+	
+	// 탈퇴한 사용자는 버전이 없는 것으로 본다
+	@Query("select u.tokenVersion from User u where u.id = :id and u.withdrawnAt is null")
+	Optional<Long> findTokenVersion(@Param("id") Long id);
+	
+	@Query("select u.id from User u where u.withdrawnAt <= :before order by u.withdrawnAt")
+	List<Long> findWithdrawnIds(@Param("before") LocalDateTime before, Limit limit);
+	
+	// 탈퇴 처리된 계정만 지운다
+	@Modifying
+	@Query("delete from User u where u.id = :id and u.withdrawnAt is not null")
+	int deleteWithdrawn(@Param("id") Long id);
 }
@@ -0,0 +1,137 @@
+package com.analog.domain.user.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.analog.domain.auth.refreshToken.repository.RefreshTokenRepository;
+import com.analog.domain.diary.repository.DiaryRepository;
+import com.analog.domain.diary.service.DiaryBulkDeleter;
+import com.analog.domain.summary.repository.EmotionSummaryRepository;
+import com.analog.domain.summary.repository.GeneratedSummaryRepository;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.config.UserPurgeProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// 탈퇴한 계정의 데이터를 일기 chunkSize 개 단위의 짧은 트랜잭션으로 나눠 bulk delete 한다.
+// 탈퇴 요청 직후 비동기로 실행하고, 그 사이 서버가 내려가 남은 계정은 sweep 이 다시 정리한다
+@Slf4j
+@Component
+public class UserPurgeService {
+
+	private final UserRepository userRepository;
+	private final DiaryRepository diaryRepository;
+	private final DiaryBulkDeleter diaryBulkDeleter;
+	private final EmotionSummaryRepository emotionSummaryRepository;
+	private final GeneratedSummaryRepository generatedSummaryRepository;
+	private final RefreshTokenRepository refreshTokenRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final UserPurgeProperties props;
+	private final Clock clock;
+	private final ExecutorService executor;
+	
+	private final Counter purged;
+	private final Counter deletedDiaries;
+	
+	public UserPurgeService(UserRepository userRepository,
+							DiaryRepository diaryRepository,
+							DiaryBulkDeleter diaryBulkDeleter,
+							EmotionSummaryRepository emotionSummaryRepository,
+							GeneratedSummaryRepository generatedSummaryRepository,
+							RefreshTokenRepository refreshTokenRepository,
+							TransactionTemplate transactionTemplate,
+							UserPurgeProperties props,
+							Clock clock,
+							MeterRegistry meterRegistry) {
+		this.userRepository = userRepository;
+		this.diaryRepository = diaryRepository;
+		this.diaryBulkDeleter = diaryBulkDeleter;
+		this.emotionSummaryRepository = emotionSummaryRepository;
+		this.generatedSummaryRepository = generatedSummaryRepository;
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.props = props;
+		this.clock = clock;
+		this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-purge-", 0).factory());
+		
+		this.purged = meterRegistry.counter("user.purge.users");
+		this.deletedDiaries = meterRegistry.counter("user.purge.diaries");
+	}
+	
+	public void purgeAsync(Long userId) {
+		try {
+			executor.execute(() -> {
+				try {
+					purge(userId);
+				} catch (RuntimeException e) {
+					log.warn("user purge failed, will retry on sweep: userId={}", userId, e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.warn("user purge rejected, will retry on sweep: userId={}", userId);
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${user.purge.sweep-interval-millis:60000}")
+	public void sweep() {
+		// 방금 탈퇴한 계정은 purgeAsync 가 처리 중일 수 있으므로 graceSeconds 가 지난 것만 가져온다
+		LocalDateTime before = LocalDateTime.now(clock).minusSeconds(props.graceSeconds());
+		List<Long> userIds = userRepository.findWithdrawnIds(before, Limit.of(props.sweepBatchSize()));
+		
+		for (Long userId : userIds) {
+			try {
+				purge(userId);
+			} catch (RuntimeException e) {
+				log.warn("user purge failed on sweep: userId={}", userId, e);
+			}
+		}
+	}
+	
+	// 같은 계정을 동시에 정리해도 이미 지운 행은 다시 지워지지 않으므로 안전하다
+	public void purge(Long userId) {
+		while (true) {
+			List<Long> diaryIds = diaryRepository.findIdsByUserId(userId, Limit.of(props.chunkSize()));
+			if (diaryIds.isEmpty()) {
+				break;
+			}
+			
+			diaryBulkDeleter.deleteAll(diaryIds);
+			deletedDiaries.increment(diaryIds.size());
+			
+			if (diaryIds.size() < props.chunkSize()) {
+				break;
+			}
+		}
+		
+		Integer deleted = transactionTemplate.execute(status -> {
+			emotionSummaryRepository.deleteByUserId(userId);
+			generatedSummaryRepository.deleteByUserId(userId);
+			refreshTokenRepository.deleteByUserId(userId);
+			
+			return userRepository.deleteWithdrawn(userId);
+		});
+		
+		if (deleted != null && deleted > 0) {
+			purged.increment();
+		}
+	}
+	
+	@PreDestroy
+	void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+}
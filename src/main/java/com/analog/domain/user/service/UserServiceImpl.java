@@ -1,15 +1,21 @@
 package com.analog.domain.user.service;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.analog.domain.auth.refreshToken.repository.RefreshTokenRepository;
 import com.analog.domain.auth.service.RefreshTokenService;
-import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
-import com.analog.domain.diary.repository.DiaryRepository;
 import com.analog.domain.user.dto.request.UpdateMeRequest;
 import com.analog.domain.user.dto.request.UpdatePasswordRequest;
 import com.analog.domain.user.dto.response.MeResponse;
@@ -19,9 +25,12 @@ import com.analog.domain.user.entity.User;
 import com.analog.domain.user.repository.UserRepository;
 import com.analog.global.error.BusinessException;
 import com.analog.global.error.ErrorCode;
+import com.analog.global.security.auth.AuthPrincipal;
 import com.analog.global.security.auth.AuthUser;
-import com.analog.global.security.jwt.JwtClaims;
+import com.analog.global.security.auth.PrincipalCache;
 import com.analog.global.security.jwt.JwtTokenProvider;
+import com.analog.global.security.jwt.TokenPair;
+import com.analog.global.security.revocation.AccessTokenRevocationList;
 
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -36,13 +45,16 @@ public class UserServiceImpl implements UserService {
 	private final RefreshTokenRepository refreshTokenRepository;
 	private final JwtTokenProvider jwtTokenProvider;
 	private final RefreshTokenService refreshTokenService;
-	private final DiaryAnalysisRepository diaryAnalysisRepository;
-	private final DiaryRepository diaryRepository;
+	private final UserPurgeService userPurgeService;
+	private final PrincipalCache principalCache;
+	private final AccessTokenRevocationList accessTokenRevocationList;
+	private final Clock clock;
+	private final TransactionTemplate transactionTemplate;
 	
 	@Override
 	@Transactional(readOnly = true)
 	public MeResponse me() {
-		Long userId = AuthUser.requireUser().getId();
+		Long userId = AuthUser.requireUserId();
 		
 		User user = userRepository.findById(userId)
 				.orElseThrow(() -> new BusinessException(ErrorCode.RES_404, "사용자를 찾을 수 없습니다."));
@@ -52,65 +64,94 @@ public class UserServiceImpl implements UserService {
 	
 	@Override
 	public MeResponse updateMe(UpdateMeRequest request) {
-		Long userId = AuthUser.requireUser().getId();
+		Long userId = AuthUser.requireUserId();
 		
 		User user = userRepository.findById(userId)
 				.orElseThrow(() -> new BusinessException(ErrorCode.RES_404, "사용자를 찾을 수 없습니다."));
 		
 		user.updateName(request.name());
+		principalCache.evict(userId);
 		
 		return new MeResponse(user.getId(), user.getEmail(), user.getName());
 	}
 	
+	// 해시 검증/계산은 트랜잭션 밖에서 하고, 해시 교체와 세션 정리만 짧은 트랜잭션으로 묶는다
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public UpdatePasswordResponse updatePassword(UpdatePasswordRequest request) {
-		Long userId = AuthUser.requireUser().getId();
+		Long userId = AuthUser.requireUserId();
 		
-		User user = userRepository.findById(userId)
+		User found = userRepository.findById(userId)
 				.orElseThrow(() -> new BusinessException(ErrorCode.RES_404));
+		String verifiedHash = found.getPassword();
 		
-		if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
+		if (!request.newPassword().equals(request.newPasswordConfirm())) {
             throw new BusinessException(ErrorCode.REQ_400);
         }
-
-        if (!request.newPassword().equals(request.newPasswordConfirm())) {
+		
+		if (!passwordEncoder.matches(request.currentPassword(), verifiedHash)) {
             throw new BusinessException(ErrorCode.REQ_400);
         }
         
-        if (passwordEncoder.matches(request.newPassword(), user.getPassword())) {
+        if (passwordEncoder.matches(request.newPassword(), verifiedHash)) {
         	throw new BusinessException(ErrorCode.REQ_400);
         }
         
-        user.updatePasswordHash(passwordEncoder.encode(request.newPassword()));
-        
-        String newAccessToken = jwtTokenProvider.createAccessToken(userId);
-        String newRefreshToken = jwtTokenProvider.createRefreshToken(userId);
-        
-        JwtClaims newRefreshClaims = jwtTokenProvider.parse(newRefreshToken);
+        String newHash = passwordEncoder.encode(request.newPassword());
         
-        refreshTokenService.upsert(user, newRefreshToken, newRefreshClaims.tokenId(), newRefreshClaims.expiresAt());
-        
-        return new UpdatePasswordResponse(newAccessToken, newRefreshToken);
+        return transactionTemplate.execute(status -> {
+        	// 검증하는 사이 다른 요청이 비밀번호를 바꿨다면 현재 비밀번호 확인이 무효다
+        	User user = userRepository.findById(userId)
+        			.filter(current -> verifiedHash.equals(current.getPassword()))
+        			.orElseThrow(() -> new BusinessException(ErrorCode.REQ_400));
+        	
+        	user.updatePasswordHash(newHash);
+        	principalCache.evict(userId);
+        	accessTokenRevocationList.revokeIssuedBefore(userId);
+        	
+        	TokenPair tokens = jwtTokenProvider.issueTokenPair(AuthPrincipal.from(user));
+        	
+        	// 비밀번호가 바뀌면 다른 기기의 세션은 모두 끊고 현재 기기 세션만 새로 만든다
+        	refreshTokenService.revokeAll(userId);
+        	refreshTokenService.create(user, tokens.refreshToken());
+        	
+        	return new UpdatePasswordResponse(tokens.accessToken().token(), tokens.refreshToken().token());
+        });
 	}
 	
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public void withdraw(Long userId, String password, HttpServletResponse response) {
-		User user = userRepository.findById(userId)
+		User found = userRepository.findById(userId)
 				.orElseThrow(() -> new BusinessException(ErrorCode.AUTH_401));
+		String verifiedHash = found.getPassword();
 		
-		if (user.getProvider() == AuthProvider.LOCAL) {
-			if (!passwordEncoder.matches(password, user.getPassword())) {
+		if (found.getProvider() == AuthProvider.LOCAL) {
+			if (!passwordEncoder.matches(password, verifiedHash)) {
 				throw new BusinessException(ErrorCode.AUTH_401);
 			}
 		}
 		
-		refreshTokenRepository.deleteByUserId(userId);
-		expireRefreshCookie(response);
+		transactionTemplate.executeWithoutResult(status -> {
+			User user = userRepository.findById(userId)
+					.filter(current -> !current.isWithdrawn() && Objects.equals(verifiedHash, current.getPassword()))
+					.orElseThrow(() -> new BusinessException(ErrorCode.AUTH_401));
+			
+			// 계정은 바로 막고, 데이터 양에 비례하는 삭제는 커밋 후 별도로 실행해 요청이 바로 끝나게 한다
+			user.withdraw(LocalDateTime.now(clock));
+			refreshTokenRepository.deleteByUserId(userId);
+			principalCache.evict(userId);
+			accessTokenRevocationList.revokeIssuedBefore(userId);
+			
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					userPurgeService.purgeAsync(userId);
+				}
+			});
+		});
 		
-		diaryAnalysisRepository.deleteByDiaryUserId(userId);
-		diaryRepository.deleteByUserId(userId);
-		
-		userRepository.delete(user);
+		expireRefreshCookie(response);
 	}
 	
 	private void expireRefreshCookie(HttpServletResponse response) {
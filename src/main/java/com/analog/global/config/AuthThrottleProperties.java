@@ -0,0 +1,29 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "auth.throttle")
+public record AuthThrottleProperties(
+		// IP/이메일 별로 유지하는 카운터 수 상한. 넘으면 오래 쓰이지 않은 키부터 버린다
+		@DefaultValue("100000")
+		long maxKeys,
+		
+		@DefaultValue("20")
+		int ipLimit,
+		
+		@DefaultValue("60")
+		long ipWindowSeconds,
+		
+		@DefaultValue("5")
+		int emailLimit,
+		
+		@DefaultValue("300")
+		long emailWindowSeconds,
+		
+		// 로그인/가입 본문은 작으므로 이메일을 읽으려고 메모리에 올리는 크기를 제한한다
+		@DefaultValue("4096")
+		int maxBodyBytes
+) {
+
+}
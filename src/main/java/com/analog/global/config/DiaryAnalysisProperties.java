@@ -0,0 +1,63 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "diary.analysis")
+public record DiaryAnalysisProperties(
+		@DefaultValue("4")
+		int concurrency,
+		
+		@DefaultValue("1000")
+		int queueCapacity,
+		
+		@DefaultValue("3")
+		int maxAttempts,
+		
+		@DefaultValue("500")
+		long retryBackoffMillis,
+		
+		@DefaultValue
+		Outbox outbox,
+		
+		@DefaultValue
+		Batch batch,
+		
+		@DefaultValue
+		ResultCache resultCache
+) {
+
+	public record Outbox(
+			@DefaultValue("100")
+			int batchSize,
+			
+			@DefaultValue("300")
+			long leaseSeconds,
+			
+			@DefaultValue("5")
+			int maxDeliveries,
+			
+			// @Scheduled 에서는 같은 키를 placeholder 로 읽는다
+			@DefaultValue("1000")
+			long pollIntervalMillis
+	) {
+		
+	}
+	
+	public record Batch(
+			@DefaultValue("20")
+			int maxSize,
+			
+			@DefaultValue("200")
+			long maxLingerMillis
+	) {
+		
+	}
+	
+	public record ResultCache(
+			@DefaultValue("10000")
+			long maxSize
+	) {
+		
+	}
+}
@@ -0,0 +1,18 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "diary.trash")
+public record DiaryTrashProperties(
+		@DefaultValue("30")
+		int retentionDays,
+		
+		@DefaultValue("200")
+		int batchSize,
+		
+		@DefaultValue("500")
+		int maxDeletesPerSecond
+) {
+
+}
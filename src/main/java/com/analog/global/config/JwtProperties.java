@@ -1,13 +1,18 @@
 package com.analog.global.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "security.jwt")
 public record JwtProperties(
 		String issuer,
 		String secret,
 		long accessTokenExpSeconds,
-		long refreshTokenExpSeconds
+		long refreshTokenExpSeconds,
+		
+		// access token 에 role/provider/version 을 담아 필터가 DB 없이 인증 주체를 만든다
+		@DefaultValue("false")
+		boolean embedPrincipalClaims
 ) {
 
 }
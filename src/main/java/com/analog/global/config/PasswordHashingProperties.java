@@ -0,0 +1,31 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.analog.global.security.PasswordHashAlgorithm;
+
+@ConfigurationProperties(prefix = "security.password-hashing")
+public record PasswordHashingProperties(
+		// 0 이면 CPU 코어 수만큼 둔다
+		@DefaultValue("0")
+		int threads,
+		
+		// 대기열이 차면 기다리지 않고 바로 503 으로 거절한다
+		@DefaultValue("64")
+		int queueCapacity,
+		
+		// 새로 저장하는 해시의 알고리즘. 다른 알고리즘의 해시는 로그인 성공 시 다시 해시한다
+		@DefaultValue("argon2")
+		PasswordHashAlgorithm algorithm,
+		
+		// 기동 시 해시 한 번에 이 시간이 걸리도록 cost 를 맞춘다
+		@DefaultValue("100")
+		long targetMillis,
+		
+		// 0 보다 크면 측정하지 않고 이 값을 쓴다
+		@DefaultValue("0")
+		int cost
+) {
+
+}
@@ -0,0 +1,15 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "security.principal-cache")
+public record PrincipalCacheProperties(
+		@DefaultValue("10000")
+		long maxSize,
+		
+		@DefaultValue("60")
+		long ttlSeconds
+) {
+
+}
@@ -0,0 +1,28 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "auth.refresh-token")
+public record RefreshTokenProperties(
+		@DefaultValue("5")
+		int maxSessions,
+		
+		// 마지막 회전 후 이 시간 안에 옛 토큰이 다시 오면 동시 요청으로 보고 family 를 끊지 않는다
+		@DefaultValue("5")
+		long reuseGraceSeconds,
+		
+		@DefaultValue
+		Sweep sweep
+) {
+
+	public record Sweep(
+			@DefaultValue("3600000")
+			long intervalMillis,
+			
+			@DefaultValue("500")
+			int batchSize
+	) {
+		
+	}
+}
@@ -0,0 +1,35 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "summary")
+public record SummaryProperties(
+		@DefaultValue
+		Cache cache,
+		
+		@DefaultValue
+		Precompute precompute
+) {
+
+	public record Cache(
+			@DefaultValue("10000")
+			long maxSize
+	) {
+		
+	}
+	
+	public record Precompute(
+			@DefaultValue("500")
+			int chunkSize,
+			
+			@DefaultValue("4")
+			int concurrency,
+			
+			// 한 청크를 처리하는 데 걸리는 시간보다 넉넉해야 한다. 청크가 끝날 때마다 연장한다
+			@DefaultValue("600")
+			long leaseSeconds
+	) {
+		
+	}
+}
@@ -0,0 +1,18 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "security.token-revocation")
+public record TokenRevocationProperties(
+		@DefaultValue("100000")
+		long expectedInsertions,
+		
+		@DefaultValue("0.01")
+		double falsePositiveRate,
+		
+		@DefaultValue("300000")
+		long rebuildIntervalMillis
+) {
+
+}
@@ -0,0 +1,21 @@
+package com.analog.global.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "user.purge")
+public record UserPurgeProperties(
+		@DefaultValue("500")
+		int chunkSize,
+		
+		@DefaultValue("60000")
+		long sweepIntervalMillis,
+		
+		@DefaultValue("300")
+		long graceSeconds,
+		
+		@DefaultValue("100")
+		int sweepBatchSize
+) {
+
+}
@@ -9,7 +9,10 @@ public enum ErrorCode {
     AUTH_403(HttpStatus.FORBIDDEN, "Forbidden"),
     RES_404(HttpStatus.NOT_FOUND, "Not Found"),
     RES_409(HttpStatus.CONFLICT, "Conflict"),
-    SRV_500(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+    REQ_413(HttpStatus.CONTENT_TOO_LARGE, "Content Too Large"),
+    REQ_429(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests"),
+    SRV_500(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error"),
+    SRV_503(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable");
 	
 	private final HttpStatus httpStatus;
 	private final String defaultMessage;
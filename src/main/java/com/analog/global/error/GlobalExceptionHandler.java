@@ -6,6 +6,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -65,6 +66,20 @@ public class GlobalExceptionHandler {
                 ));
     }
     
+    // 쿼리/경로 파라미터 형식 오류 (예: 날짜 포맷)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity
+                .status(ErrorCode.REQ_400.getHttpStatus())
+                .body(ErrorResponse.of(
+                        ErrorCode.REQ_400,
+                        request.getRequestURI()
+                ));
+    }
+    
     // 예상 못 한 서버 에러
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(
@@ -0,0 +1,55 @@
+package com.analog.global.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+// Pbkdf2PasswordEncoder 는 반복 횟수를 해시에 남기지 않는다. 호스트마다 cost 가 달라도 검증되도록 "<반복 횟수>$<해시>" 로 저장한다
+class IterationTaggedPbkdf2PasswordEncoder implements PasswordEncoder {
+
+	private static final char SEPARATOR = '$';
+	
+	private final int iterations;
+	
+	IterationTaggedPbkdf2PasswordEncoder(int iterations) {
+		this.iterations = iterations;
+	}
+	
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return iterations + String.valueOf(SEPARATOR) + pbkdf2(iterations).encode(rawPassword);
+	}
+	
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		// 잘못 저장된 큰 값으로 검증이 한없이 길어지지 않도록 상한을 넘는 반복 횟수도 거부한다
+		int stored = iterationsOf(encodedPassword);
+		if (stored <= 0 || stored > PasswordHashAlgorithm.PBKDF2.maxCost()) {
+			return false;
+		}
+		
+		return pbkdf2(stored).matches(rawPassword, encodedPassword.substring(encodedPassword.indexOf(SEPARATOR) + 1));
+	}
+	
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return iterationsOf(encodedPassword) < iterations;
+	}
+	
+	private static int iterationsOf(String encodedPassword) {
+		int separator = (encodedPassword == null) ? -1 : encodedPassword.indexOf(SEPARATOR);
+		if (separator <= 0) {
+			return -1;
+		}
+		
+		try {
+			return Integer.parseInt(encodedPassword, 0, separator, 10);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+	
+	private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+		return new Pbkdf2PasswordEncoder("", 16, iterations,
+				Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+	}
+}
@@ -0,0 +1,98 @@
+package com.analog.global.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.analog.global.config.PasswordHashingProperties;
+import com.analog.global.error.BusinessException;
+import com.analog.global.error.ErrorCode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// 해시 계산은 CPU 크기의 전용 풀에서만 돌린다. 로그인이 몰려도 요청 스레드 전체가 해시에 묶이지 않는다
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final Timer waitTimer;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Counter rejected;
+	
+	public OffloadingPasswordEncoder(PasswordEncoder delegate,
+									 PasswordHashingProperties props,
+									 MeterRegistry meterRegistry) {
+		int threads = props.threads() > 0 ? props.threads() : Runtime.getRuntime().availableProcessors();
+		
+		this.delegate = delegate;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(props.queueCapacity()),
+				Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.waitTimer = meterRegistry.timer("auth.password.wait");
+		this.encodeTimer = meterRegistry.timer("auth.password.hash", "op", "encode");
+		this.matchesTimer = meterRegistry.timer("auth.password.hash", "op", "matches");
+		this.rejected = meterRegistry.counter("auth.password.rejected");
+		
+		Gauge.builder("auth.password.queue", executor, e -> e.getQueue().size())
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return offload(encodeTimer, () -> delegate.encode(rawPassword));
+	}
+	
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return offload(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+	}
+	
+	// 해시 형식만 확인하므로 풀을 거치지 않는다
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+	
+	private <T> T offload(Timer timer, Callable<T> task) {
+		long submittedAt = System.nanoTime();
+		
+		Future<T> future;
+		try {
+			future = executor.submit(() -> {
+				waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+				return timer.recordCallable(task);
+			});
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new BusinessException(ErrorCode.SRV_503);
+		}
+		
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new BusinessException(ErrorCode.SRV_503);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+	
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
@@ -1,15 +1,56 @@
 package com.analog.global.security;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.analog.global.config.PasswordHashingProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Configuration
 public class PasswordEncoderConfig {
 
-	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	@Bean(destroyMethod = "shutdown")
+	public PasswordEncoder passwordEncoder(PasswordHashingProperties props, MeterRegistry meterRegistry) {
+		return new OffloadingPasswordEncoder(hashingEncoder(props), props, meterRegistry);
+	}
+	
+	// 실제 해시 알고리즘. 저장된 해시의 {id} 로 알고리즘을 고르고, 접두어가 없는 기존 해시는 BCrypt 로 검증한다
+	// 벤치마크도 같은 설정을 측정한다
+	public static PasswordEncoder hashingEncoder(PasswordHashingProperties props) {
+		PasswordHashAlgorithm target = props.algorithm();
+		int cost = props.cost() > 0
+				? configuredCost(target, props.cost())
+				: PasswordHashCalibrator.calibrate(target, Duration.ofMillis(props.targetMillis()));
+		log.info("password hashing configured: algorithm={}, cost={}, targetMillis={}",
+				target.id(), cost, props.targetMillis());
+		
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		for (PasswordHashAlgorithm algorithm : PasswordHashAlgorithm.values()) {
+			// 검증은 해시에 담긴 cost 로 하므로 나머지 알고리즘은 최소값이면 된다
+			encoders.put(algorithm.id(), algorithm == target ? target.encoder(cost) : algorithm.encoder(algorithm.minCost()));
+		}
+		
+		DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(target.id(), encoders);
+		delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+		return delegating;
+	}
+	
+	// 범위를 벗어난 cost 로 저장한 해시는 검증되지 않거나 너무 약하므로 기동을 막는다
+	private static int configuredCost(PasswordHashAlgorithm algorithm, int cost) {
+		if (cost < algorithm.minCost() || cost > algorithm.maxCost()) {
+			throw new IllegalStateException("security.password-hashing.cost must be between %d and %d for %s: %d"
+					.formatted(algorithm.minCost(), algorithm.maxCost(), algorithm.id(), cost));
+		}
+		return cost;
 	}
 }
@@ -0,0 +1,73 @@
+package com.analog.global.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// cost 는 알고리즘마다 다르다. bcrypt 는 log rounds, pbkdf2/argon2 는 반복 횟수
+public enum PasswordHashAlgorithm {
+
+	BCRYPT("bcrypt", 10, 16, 8) {
+		@Override
+		public PasswordEncoder encoder(int cost) {
+			return new BCryptPasswordEncoder(cost);
+		}
+		
+		// rounds 가 1 오를 때마다 시간이 두 배가 된다
+		@Override
+		int scale(int probeCost, long probeNanos, long targetNanos) {
+			double ratio = (double) targetNanos / probeNanos;
+			return probeCost + (int) Math.floor(Math.log(ratio) / Math.log(2));
+		}
+	},
+	
+	PBKDF2("pbkdf2", 310_000, 10_000_000, 10_000) {
+		@Override
+		public PasswordEncoder encoder(int cost) {
+			return new IterationTaggedPbkdf2PasswordEncoder(cost);
+		}
+	},
+	
+	// 메모리 16MiB, 병렬도 1 로 고정하고 반복 횟수만 조정한다
+	ARGON2("argon2", 2, 64, 1) {
+		@Override
+		public PasswordEncoder encoder(int cost) {
+			return new Argon2PasswordEncoder(16, 32, 1, 1 << 14, cost);
+		}
+	};
+	
+	private final String id;
+	private final int minCost;
+	private final int maxCost;
+	private final int probeCost;
+	
+	PasswordHashAlgorithm(String id, int minCost, int maxCost, int probeCost) {
+		this.id = id;
+		this.minCost = minCost;
+		this.maxCost = maxCost;
+		this.probeCost = probeCost;
+	}
+	
+	public abstract PasswordEncoder encoder(int cost);
+	
+	// 반복 횟수에 비례하는 알고리즘은 측정값에서 선형으로 늘린다
+	int scale(int probeCost, long probeNanos, long targetNanos) {
+		return (int) Math.min(Integer.MAX_VALUE, (long) ((double) probeCost * targetNanos / probeNanos));
+	}
+	
+	public String id() {
+		return id;
+	}
+	
+	public int minCost() {
+		return minCost;
+	}
+	
+	public int maxCost() {
+		return maxCost;
+	}
+	
+	public int probeCost() {
+		return probeCost;
+	}
+}
@@ -0,0 +1,31 @@
+package com.analog.global.security;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// 기동한 호스트에서 낮은 cost 로 몇 번 해시해 보고, 목표 시간에 맞는 cost 를 계산한다
+public final class PasswordHashCalibrator {
+
+	private static final String SAMPLE = "calibration-password";
+	private static final int SAMPLES = 3;
+	
+	private PasswordHashCalibrator() {}
+	
+	public static int calibrate(PasswordHashAlgorithm algorithm, Duration target) {
+		PasswordEncoder probe = algorithm.encoder(algorithm.probeCost());
+		// 첫 호출은 클래스 로딩/JIT 비용이 섞이므로 버린다
+		probe.encode(SAMPLE);
+		
+		// 다른 작업에 밀린 측정을 피하려고 가장 빠른 값을 쓴다
+		long fastest = Long.MAX_VALUE;
+		for (int i = 0; i < SAMPLES; i++) {
+			long start = System.nanoTime();
+			probe.encode(SAMPLE);
+			fastest = Math.min(fastest, System.nanoTime() - start);
+		}
+		
+		int cost = algorithm.scale(algorithm.probeCost(), Math.max(fastest, 1), target.toNanos());
+		return Math.clamp(cost, algorithm.minCost(), algorithm.maxCost());
+	}
+}
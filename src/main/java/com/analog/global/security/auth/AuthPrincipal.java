@@ -0,0 +1,18 @@
+package com.analog.global.security.auth;
+
+import com.analog.domain.user.entity.AuthProvider;
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.entity.UserRole;
+
+// SecurityContext 에 올리는 인증 주체. 엔티티 대신 불변 값만 들고 다닌다
+public record AuthPrincipal(
+		Long userId,
+		UserRole role,
+		AuthProvider provider,
+		long tokenVersion
+) {
+
+	public static AuthPrincipal from(User user) {
+		return new AuthPrincipal(user.getId(), user.getRole(), user.getProvider(), user.getTokenVersion());
+	}
+}
@@ -6,7 +6,6 @@ import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import com.analog.domain.user.entity.User;
 import com.analog.global.error.BusinessException;
 import com.analog.global.error.ErrorCode;
 
@@ -14,7 +13,7 @@ public final class AuthUser {
 
 	private AuthUser() {}
 	
-	public static Optional<User> getUser() {
+	public static Optional<AuthPrincipal> getPrincipal() {
 	    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
 	    if (auth == null || !auth.isAuthenticated()
@@ -23,15 +22,19 @@ public final class AuthUser {
 	    }
 
 	    Object principal = auth.getPrincipal();
-	    if (principal instanceof User user) {
-	        return Optional.of(user);
+	    if (principal instanceof AuthPrincipal authPrincipal) {
+	        return Optional.of(authPrincipal);
 	    }
 
 	    return Optional.empty();
 	}
 
-	public static User requireUser() {
-	    return getUser()
+	public static AuthPrincipal requirePrincipal() {
+	    return getPrincipal()
 	            .orElseThrow(() -> new BusinessException(ErrorCode.AUTH_401));
 	}
+
+	public static Long requireUserId() {
+	    return requirePrincipal().userId();
+	}
 }
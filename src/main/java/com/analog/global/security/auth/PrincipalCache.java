@@ -0,0 +1,77 @@
+package com.analog.global.security.auth;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.config.PrincipalCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class PrincipalCache {
+
+	private final UserRepository userRepository;
+	private final Cache<Long, User> cache;
+	private final Cache<Long, Long> tokenVersions;
+	
+	public PrincipalCache(UserRepository userRepository,
+						  PrincipalCacheProperties props,
+						  MeterRegistry meterRegistry) {
+		this.userRepository = userRepository;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(props.maxSize())
+				.expireAfterWrite(Duration.ofSeconds(props.ttlSeconds()))
+				.recordStats()
+				.build();
+		
+		this.tokenVersions = Caffeine.newBuilder()
+				.maximumSize(props.maxSize())
+				.expireAfterWrite(Duration.ofSeconds(props.ttlSeconds()))
+				.recordStats()
+				.build();
+		
+		// cache.gets / cache.evictions 등으로 노출
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal");
+		CaffeineCacheMetrics.monitor(meterRegistry, tokenVersions, "principal.version");
+	}
+	
+	public Optional<User> get(Long userId) {
+		// 존재하지 않는 사용자는 캐시하지 않는다
+		return Optional.ofNullable(cache.get(userId, id -> userRepository.findById(id).orElse(null)));
+	}
+	
+	// 클레임을 담은 access token 은 엔티티 대신 버전만 비교한다
+	public Optional<Long> getTokenVersion(Long userId) {
+		return Optional.ofNullable(tokenVersions.get(userId, id -> userRepository.findTokenVersion(id).orElse(null)));
+	}
+	
+	public void evict(Long userId) {
+		cache.invalidate(userId);
+		tokenVersions.invalidate(userId);
+		
+		// 커밋 전에 다른 요청이 이전 상태를 다시 적재할 수 있으므로 트랜잭션 종료 후 한 번 더 비운다
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.invalidate(userId);
+					tokenVersions.invalidate(userId);
+				}
+			});
+		}
+	}
+	
+	public CacheStats stats() {
+		return cache.stats();
+	}
+}
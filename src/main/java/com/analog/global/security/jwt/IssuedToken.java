@@ -0,0 +1,11 @@
+package com.analog.global.security.jwt;
+
+import java.time.Instant;
+
+public record IssuedToken(
+		String token,
+		String tokenId,
+		Instant expiresAt
+) {
+
+}
@@ -9,6 +9,7 @@ import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,7 +17,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.analog.domain.user.entity.User;
-import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.security.auth.AuthPrincipal;
+import com.analog.global.security.auth.PrincipalCache;
+import com.analog.global.security.revocation.AccessTokenRevocationList;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -30,14 +33,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationEntryPoint authenticationEntryPoint;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final AccessTokenRevocationList accessTokenRevocationList;
 
     public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
                                    AuthenticationEntryPoint authenticationEntryPoint,
-                                   UserRepository userRepository) {
+                                   PrincipalCache principalCache,
+                                   AccessTokenRevocationList accessTokenRevocationList) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.authenticationEntryPoint = authenticationEntryPoint;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.accessTokenRevocationList = accessTokenRevocationList;
     }
 
     @Override
@@ -73,12 +79,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (userId == null) {
                 throw new BadCredentialsException("Missing userId");
             }
+
+            if (accessTokenRevocationList.isRevoked(claims)) {
+                throw new BadCredentialsException("Revoked token");
+            }
             
-            User user = userRepository.findById(userId)
-            		.orElseThrow(() -> new BadCredentialsException("User Not Found"));
+            AuthPrincipal principal = resolvePrincipal(claims);
 
-            Authentication authentication =
-                    new UsernamePasswordAuthenticationToken(user, null, List.of());
+            Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null,
+                    List.of(new SimpleGrantedAuthority("ROLE_" + principal.role().name())));
 
             ((UsernamePasswordAuthenticationToken) authentication).setDetails(
                     new WebAuthenticationDetailsSource().buildDetails(request)
@@ -97,6 +106,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    // 클레임을 담은 토큰은 캐시된 버전만 비교하고, 아니면 캐시된 사용자로 주체를 만든다
+    private AuthPrincipal resolvePrincipal(JwtClaims claims) {
+        if (claims.hasEmbeddedPrincipal()) {
+            long currentVersion = principalCache.getTokenVersion(claims.userId())
+                    .orElseThrow(() -> new BadCredentialsException("User Not Found"));
+            if (currentVersion != claims.principal().tokenVersion()) {
+                throw new BadCredentialsException("Stale token version");
+            }
+            return claims.principal();
+        }
+
+        User user = principalCache.get(claims.userId())
+        		.filter(u -> !u.isWithdrawn())
+        		.orElseThrow(() -> new BadCredentialsException("User Not Found"));
+        return AuthPrincipal.from(user);
+    }
+
     private void handleAuthException(HttpServletRequest request,
                                      HttpServletResponse response,
                                      AuthenticationException ex) throws IOException, ServletException {
@@ -2,11 +2,20 @@ package com.analog.global.security.jwt;
 
 import java.time.Instant;
 
+import com.analog.global.security.auth.AuthPrincipal;
+
 public record JwtClaims(
 		Long userId,
 		TokenType tokenType,
 		String tokenId,
-		Instant expiresAt
+		String familyId,
+		Instant issuedAt,
+		Instant expiresAt,
+		AuthPrincipal principal
 ) {
 
+	// 클레임이 담기지 않은 토큰은 principal 이 null 이다
+	public boolean hasEmbeddedPrincipal() {
+		return principal != null;
+	}
 }
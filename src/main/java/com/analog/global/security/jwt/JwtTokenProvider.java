@@ -1,17 +1,23 @@
 package com.analog.global.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
 import javax.crypto.SecretKey;
 
+import com.analog.domain.user.entity.AuthProvider;
+import com.analog.domain.user.entity.UserRole;
 import com.analog.global.config.JwtProperties;
+import com.analog.global.security.auth.AuthPrincipal;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.UUID;
 
@@ -20,34 +26,92 @@ public class JwtTokenProvider {
     private final JwtProperties props;
     private final Clock clock;
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
 
     public JwtTokenProvider(JwtProperties props, Clock clock) {
         this.props = props;
         this.clock = clock;
         this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(props.secret()));
+        // JwtParser는 불변이라 스레드 간 공유 가능. clock은 매 파싱마다 다시 읽는다
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
     }
 
     public String createAccessToken(long userId) {
-        return createToken(userId, TokenType.ACCESS, props.accessTokenExpSeconds());
+        return issueAccessToken(userId).token();
     }
 
     public String createRefreshToken(long userId) {
-        return createToken(userId, TokenType.REFRESH, props.refreshTokenExpSeconds());
+        return issueRefreshToken(userId).token();
+    }
+
+    public IssuedToken issueAccessToken(long userId) {
+        return issue(userId, null, TokenType.ACCESS, props.accessTokenExpSeconds(), now(), null);
+    }
+
+    public IssuedToken issueRefreshToken(long userId) {
+        return issue(userId, null, TokenType.REFRESH, props.refreshTokenExpSeconds(), now(), null);
+    }
+
+    // 발급한 jti/만료 시각을 함께 돌려주므로 호출 측에서 다시 parse 할 필요가 없다
+    // 새 로그인이므로 refresh token 의 jti 가 그대로 새 family id 가 된다
+    public TokenPair issueTokenPair(long userId) {
+        return issueTokenPair(userId, null, null);
+    }
+
+    public TokenPair issueTokenPair(AuthPrincipal principal) {
+        return issueTokenPair(principal.userId(), principal, null);
+    }
+
+    // 재발급 시에는 기존 family 를 이어 간다. principal 이 null 이면 클레임 없이 발급한다
+    public TokenPair issueTokenPair(long userId, AuthPrincipal principal, String familyId) {
+        Instant now = now();
+
+        return new TokenPair(
+                issue(userId, principal, TokenType.ACCESS, props.accessTokenExpSeconds(), now, null),
+                issue(userId, null, TokenType.REFRESH, props.refreshTokenExpSeconds(), now, familyId)
+        );
+    }
+
+    public boolean embedsPrincipalClaims() {
+        return props.embedPrincipalClaims();
     }
 
-    private String createToken(long userId, TokenType type, long expSeconds) {
-        Instant now = clock.instant();
+    private IssuedToken issue(long userId, AuthPrincipal principal, TokenType type, long expSeconds, Instant now, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
         Instant exp = now.plusSeconds(expSeconds);
 
-        return Jwts.builder()
-        		.id(UUID.randomUUID().toString())
+        JwtBuilder builder = Jwts.builder()
+        		.id(tokenId)
                 .issuer(props.issuer())
                 .subject(String.valueOf(userId))
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
-                .claim("typ", type.name())
+                .claim("typ", type.name());
+
+        if (type == TokenType.REFRESH) {
+        	builder.claim("fam", familyId != null ? familyId : tokenId);
+        }
+
+        // 설정을 켠 경우에만 access token 에 인증 주체를 담는다
+        if (type == TokenType.ACCESS && principal != null && props.embedPrincipalClaims()) {
+        	builder.claim("role", principal.role().name())
+        			.claim("prv", principal.provider().name())
+        			.claim("ver", principal.tokenVersion());
+        }
+
+        String token = builder
                 .signWith(secretKey, Jwts.SIG.HS256)
                 .compact();
+
+        return new IssuedToken(token, tokenId, exp);
+    }
+
+    // JWT의 iat/exp는 초 단위이므로 parse 결과와 같도록 맞춘다
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.SECONDS);
     }
 
     public JwtClaims parse(String token) {
@@ -60,17 +124,33 @@ public class JwtTokenProvider {
         }
         TokenType tokenType = TokenType.valueOf(typ);
         String tokenId = claims.getId();
+        // fam 이 없는 refresh token 은 그 자체가 family 의 첫 토큰이다
+        String familyId = claims.get("fam", String.class);
+        if (familyId == null && tokenType == TokenType.REFRESH) {
+        	familyId = tokenId;
+        }
+        Date iat = claims.getIssuedAt();
+        Instant issuedAt = (iat == null) ? null : iat.toInstant();
         Date exp = claims.getExpiration();
         Instant expiresAt = (exp == null) ? null : exp.toInstant();
 
-        return new JwtClaims(userId, tokenType, tokenId, expiresAt);
+        return new JwtClaims(userId, tokenType, tokenId, familyId, issuedAt, expiresAt, embeddedPrincipal(userId, claims));
+    }
+
+    // role/prv/ver 가 모두 있을 때만 인정한다. 하나라도 빠지면 DB 에서 다시 읽게 한다
+    private AuthPrincipal embeddedPrincipal(Long userId, Claims claims) {
+        String role = claims.get("role", String.class);
+        String provider = claims.get("prv", String.class);
+        Long version = claims.get("ver", Long.class);
+        if (role == null || provider == null || version == null) {
+        	return null;
+        }
+
+        return new AuthPrincipal(userId, UserRole.valueOf(role), AuthProvider.valueOf(provider), version);
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .clock(() -> Date.from(clock.instant()))
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
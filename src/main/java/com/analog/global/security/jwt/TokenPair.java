@@ -0,0 +1,8 @@
+package com.analog.global.security.jwt;
+
+public record TokenPair(
+		IssuedToken accessToken,
+		IssuedToken refreshToken
+) {
+
+}
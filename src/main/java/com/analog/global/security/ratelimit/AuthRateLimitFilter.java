@@ -0,0 +1,183 @@
+package com.analog.global.security.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.analog.global.config.AuthThrottleProperties;
+import com.analog.global.error.ErrorCode;
+import com.analog.global.error.ErrorResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+// 로그인/가입 요청은 DB 조회나 BCrypt 비교 전에 IP, 이메일 단위로 시도 횟수를 제한한다
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+	private static final Set<String> THROTTLED_PATHS = Set.of("/api/auth/login", "/api/auth/signup");
+	
+	private final ObjectMapper objectMapper;
+	private final int maxBodyBytes;
+	private final SlidingWindowRateLimiter ipLimiter;
+	private final SlidingWindowRateLimiter emailLimiter;
+	private final Counter ipRejected;
+	private final Counter emailRejected;
+	
+	public AuthRateLimitFilter(ObjectMapper objectMapper,
+							   AuthThrottleProperties props,
+							   Clock clock,
+							   MeterRegistry meterRegistry) {
+		this.objectMapper = objectMapper;
+		this.maxBodyBytes = props.maxBodyBytes();
+		this.ipLimiter = new SlidingWindowRateLimiter(
+				props.ipLimit(), Duration.ofSeconds(props.ipWindowSeconds()), props.maxKeys(), clock);
+		this.emailLimiter = new SlidingWindowRateLimiter(
+				props.emailLimit(), Duration.ofSeconds(props.emailWindowSeconds()), props.maxKeys(), clock);
+		this.ipRejected = meterRegistry.counter("auth.throttle.rejected", "key", "ip");
+		this.emailRejected = meterRegistry.counter("auth.throttle.rejected", "key", "email");
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !HttpMethod.POST.matches(request.getMethod())
+				|| !THROTTLED_PATHS.contains(request.getRequestURI());
+	}
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request,
+									HttpServletResponse response,
+									FilterChain filterChain) throws ServletException, IOException {
+		// 프록시 뒤라면 server.forward-headers-strategy 로 실제 클라이언트 주소가 들어온다
+		if (!ipLimiter.tryAcquire(request.getRemoteAddr())) {
+			ipRejected.increment();
+			reject(request, response, ErrorCode.REQ_429);
+			return;
+		}
+		
+		if (request.getContentLengthLong() > maxBodyBytes) {
+			reject(request, response, ErrorCode.REQ_413);
+			return;
+		}
+		
+		// 이메일을 보려면 본문을 읽어야 하므로 뒤에서 다시 읽을 수 있게 감싼다.
+		// Content-Length 없이 오는 본문도 maxBodyBytes 까지만 읽는다
+		byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+		if (body.length > maxBodyBytes) {
+			reject(request, response, ErrorCode.REQ_413);
+			return;
+		}
+		
+		CachedBodyRequest cached = new CachedBodyRequest(request, body);
+		String email = readEmail(body);
+		if (email != null && !emailLimiter.tryAcquire(email)) {
+			emailRejected.increment();
+			reject(request, response, ErrorCode.REQ_429);
+			return;
+		}
+		
+		filterChain.doFilter(cached, response);
+	}
+	
+	// 형식이 잘못된 본문은 여기서 막지 않고 컨트롤러의 검증에 맡긴다
+	private String readEmail(byte[] body) {
+		if (body.length == 0) {
+			return null;
+		}
+		
+		try {
+			String email = objectMapper.readTree(body).path("email").asString();
+			return email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+		} catch (JacksonException e) {
+			return null;
+		}
+	}
+	
+	private void reject(HttpServletRequest request, HttpServletResponse response, ErrorCode errorCode) throws IOException {
+		response.setStatus(errorCode.getHttpStatus().value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		
+		objectMapper.writeValue(response.getWriter(), ErrorResponse.of(errorCode, request.getRequestURI()));
+	}
+	
+	private static class CachedBodyRequest extends HttpServletRequestWrapper {
+		
+		private final byte[] body;
+		
+		CachedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+		
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream in = new ByteArrayInputStream(body);
+			
+			return new ServletInputStream() {
+				@Override
+				public int read() {
+					return in.read();
+				}
+				
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return in.read(b, off, len);
+				}
+				
+				@Override
+				public boolean isFinished() {
+					return in.available() == 0;
+				}
+				
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+				
+				// 본문은 이미 메모리에 있으므로 바로 읽을 수 있다고 알리고, 다 읽히면 끝을 알린다
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					try {
+						if (!isFinished()) {
+							readListener.onDataAvailable();
+						}
+						if (isFinished()) {
+							readListener.onAllDataRead();
+						}
+					} catch (IOException e) {
+						readListener.onError(e);
+					}
+				}
+			};
+		}
+		
+		@Override
+		public BufferedReader getReader() {
+			String encoding = getCharacterEncoding();
+			return new BufferedReader(new InputStreamReader(getInputStream(),
+					encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+		}
+	}
+}
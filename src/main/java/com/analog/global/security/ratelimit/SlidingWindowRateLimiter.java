@@ -0,0 +1,67 @@
+package com.analog.global.security.ratelimit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// 직전 창의 횟수를 남은 비율만큼 더하는 근사 슬라이딩 윈도우. 키마다 CAS 로만 갱신한다
+public class SlidingWindowRateLimiter {
+
+	private final int limit;
+	private final long windowMillis;
+	private final Clock clock;
+	private final Cache<String, AtomicReference<Window>> windows;
+	
+	public SlidingWindowRateLimiter(int limit, Duration window, long maxKeys, Clock clock) {
+		this.limit = limit;
+		this.windowMillis = window.toMillis();
+		this.clock = clock;
+		// 두 창이 지나면 카운터가 의미 없으므로 그 전에 비우고, 상한을 넘으면 자주 안 쓰인 키부터 버린다
+		this.windows = Caffeine.newBuilder()
+				.maximumSize(maxKeys)
+				.expireAfterAccess(window.multipliedBy(2))
+				.build();
+	}
+	
+	public boolean tryAcquire(String key) {
+		AtomicReference<Window> ref = windows.get(key, k -> new AtomicReference<>(Window.EMPTY));
+		long now = clock.millis();
+		long index = now / windowMillis;
+		double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+		
+		while (true) {
+			Window current = ref.get();
+			Window rolled = current.rollTo(index);
+			
+			// 거절된 시도는 세지 않는다
+			if (rolled.previous() * previousWeight + rolled.current() >= limit) {
+				return false;
+			}
+			if (ref.compareAndSet(current, rolled.increment())) {
+				return true;
+			}
+		}
+	}
+	
+	private record Window(long index, int previous, int current) {
+		
+		static final Window EMPTY = new Window(0, 0, 0);
+		
+		Window rollTo(long newIndex) {
+			if (newIndex == index) {
+				return this;
+			}
+			if (newIndex == index + 1) {
+				return new Window(newIndex, current, 0);
+			}
+			return new Window(newIndex, 0, 0);
+		}
+		
+		Window increment() {
+			return new Window(index, previous, current + 1);
+		}
+	}
+}
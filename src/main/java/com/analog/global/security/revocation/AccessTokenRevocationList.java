@@ -0,0 +1,113 @@
+package com.analog.global.security.revocation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.analog.global.config.JwtProperties;
+import com.analog.global.config.TokenRevocationProperties;
+import com.analog.global.security.jwt.JwtClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 만료 전에 무효화된 access token 목록 (인스턴스 메모리).
+// - jti 단위 폐기: 토큰 만료 시각에 항목도 사라진다
+// - 사용자 단위 워터마크: 그 시각 이전에 발급된 토큰은 모두 무효. access token 수명이 지나면 사라진다
+// 대부분의 요청은 폐기 대상이 아니므로 블룸 필터에서 바로 끝나고, 필터에 걸린 경우에만 캐시를 본다
+@Component
+public class AccessTokenRevocationList {
+
+	private final Cache<String, Instant> revokedTokens;
+	private final Cache<Long, Instant> watermarks;
+	private final TokenRevocationProperties props;
+	private final Clock clock;
+	
+	// 블룸 필터는 지울 수 없으므로 주기적으로 살아 있는 항목만으로 새로 만들어 교체한다
+	private volatile BloomFilter tokenFilter;
+	private volatile BloomFilter userFilter;
+	
+	public AccessTokenRevocationList(TokenRevocationProperties props,
+									 JwtProperties jwtProperties,
+									 Clock clock,
+									 MeterRegistry meterRegistry) {
+		this.props = props;
+		this.clock = clock;
+		this.revokedTokens = Caffeine.newBuilder()
+				.expireAfter(Expiry.creating((String jti, Instant expiresAt) -> remaining(expiresAt)))
+				.build();
+		this.watermarks = Caffeine.newBuilder()
+				.expireAfterWrite(Duration.ofSeconds(jwtProperties.accessTokenExpSeconds()))
+				.build();
+		this.tokenFilter = newFilter();
+		this.userFilter = newFilter();
+		
+		Gauge.builder("auth.access.revocations", revokedTokens, Cache::estimatedSize)
+				.tag("type", "token")
+				.register(meterRegistry);
+		Gauge.builder("auth.access.revocations", watermarks, Cache::estimatedSize)
+				.tag("type", "user")
+				.register(meterRegistry);
+	}
+	
+	public boolean isRevoked(JwtClaims claims) {
+		if (claims.tokenId() != null
+				&& tokenFilter.mightContain(BloomFilter.hash(claims.tokenId()))
+				&& revokedTokens.getIfPresent(claims.tokenId()) != null) {
+			return true;
+		}
+		
+		if (claims.userId() != null && userFilter.mightContain(BloomFilter.hash(claims.userId()))) {
+			Instant watermark = watermarks.getIfPresent(claims.userId());
+			return watermark != null && (claims.issuedAt() == null || claims.issuedAt().isBefore(watermark));
+		}
+		
+		return false;
+	}
+	
+	public synchronized void revoke(String tokenId, Instant expiresAt) {
+		if (tokenId == null || expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+			return;
+		}
+		
+		revokedTokens.put(tokenId, expiresAt);
+		tokenFilter.put(BloomFilter.hash(tokenId));
+	}
+	
+	// JWT 의 iat 는 초 단위이므로 같은 초에 새로 발급한 토큰은 유효하게 남는다
+	public synchronized void revokeIssuedBefore(Long userId) {
+		Instant watermark = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+		
+		watermarks.asMap().merge(userId, watermark, (a, b) -> a.isAfter(b) ? a : b);
+		userFilter.put(BloomFilter.hash(userId));
+	}
+	
+	// 추가와 같은 잠금 안에서 교체하므로 교체 중 추가된 항목이 빠지지 않는다
+	@Scheduled(fixedDelayString = "${security.token-revocation.rebuild-interval-millis:300000}")
+	public synchronized void rebuild() {
+		BloomFilter tokens = newFilter();
+		revokedTokens.asMap().keySet().forEach(jti -> tokens.put(BloomFilter.hash(jti)));
+		
+		BloomFilter users = newFilter();
+		watermarks.asMap().keySet().forEach(userId -> users.put(BloomFilter.hash(userId)));
+		
+		this.tokenFilter = tokens;
+		this.userFilter = users;
+	}
+	
+	private BloomFilter newFilter() {
+		return new BloomFilter(props.expectedInsertions(), props.falsePositiveRate());
+	}
+	
+	private Duration remaining(Instant expiresAt) {
+		Duration remaining = Duration.between(clock.instant(), expiresAt);
+		return remaining.isNegative() ? Duration.ZERO : remaining;
+	}
+}
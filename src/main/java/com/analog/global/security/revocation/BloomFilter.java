@@ -0,0 +1,79 @@
+package com.analog.global.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 64비트 해시 하나를 받아 k 개 위치를 만드는 (h1 + i * h2) 블룸 필터.
+// 조회는 volatile 읽기만 하므로 잠금/할당이 없고, 추가는 CAS 로 비트를 켠다
+final class BloomFilter {
+
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+	
+	BloomFilter(long expectedInsertions, double falsePositiveRate) {
+		long n = Math.max(expectedInsertions, 1);
+		long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		int words = (int) Math.max((bits + 63) / 64, 1);
+		
+		this.words = new AtomicLongArray(words);
+		this.bitCount = (long) words * 64;
+		this.hashCount = Math.max((int) Math.round((double) bitCount / n * Math.log(2)), 1);
+	}
+	
+	void put(long hash) {
+		long h1 = hash;
+		long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+		
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			int index = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			
+			long current;
+			do {
+				current = words.get(index);
+				if ((current & mask) != 0) {
+					break;
+				}
+			} while (!words.compareAndSet(index, current, current | mask));
+		}
+	}
+	
+	boolean mightContain(long hash) {
+		long h1 = hash;
+		long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+		
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	// MurmurHash3 fmix64
+	static long mix(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB93FE53B1A85L;
+		h ^= h >>> 33;
+		return h;
+	}
+	
+	// String 을 바이트 배열로 바꾸지 않고 문자 단위로 FNV-1a 해시를 만든다
+	static long hash(String value) {
+		long h = 0xCBF29CE484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001B3L;
+		}
+		return mix(h);
+	}
+	
+	static long hash(long value) {
+		return mix(value);
+	}
+}
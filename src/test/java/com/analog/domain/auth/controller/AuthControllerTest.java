@@ -9,6 +9,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,25 +27,43 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockCookie;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import com.analog.domain.auth.event.RefreshTokenReuseDetectedEvent;
 import com.analog.domain.auth.refreshToken.entity.RefreshToken;
 import com.analog.domain.auth.refreshToken.hash.RefreshTokenHasher;
 import com.analog.domain.auth.refreshToken.repository.RefreshTokenRepository;
 import com.analog.domain.auth.service.RefreshTokenService;
+import com.analog.domain.auth.service.RefreshTokenSweeper;
 import com.analog.domain.user.entity.User;
 import com.analog.domain.user.repository.UserRepository;
 import com.analog.global.security.jwt.JwtClaims;
+import com.analog.global.config.RefreshTokenProperties;
 import com.analog.global.security.jwt.JwtTokenProvider;
+import com.analog.support.MutableClock;
 
 import jakarta.servlet.http.Cookie;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
+@RecordApplicationEvents
 public class AuthControllerTest {
 
+	private static final MutableClock CLOCK = new MutableClock(Instant.now());
+	
+	@TestBean
+	Clock clock;
+	
+	static Clock clock() {
+		return CLOCK;
+	}
+	
 	@Autowired
 	MockMvc mockMvc;
 	
@@ -51,16 +79,26 @@ public class AuthControllerTest {
 	@Autowired
 	RefreshTokenHasher refreshTokenHasher;
 	
+	@Autowired
+	RefreshTokenSweeper refreshTokenSweeper;
+	
 	@Autowired
 	PasswordEncoder passwordEncoder;
 	
 	@Autowired
 	JwtTokenProvider jwtTokenProvider;
 	
+	@Autowired
+	ApplicationEvents applicationEvents;
+	
+	@Autowired
+	RefreshTokenProperties refreshTokenProperties;
+	
 	@AfterEach
 	void tearDown() {
 		refreshTokenRepository.deleteAll();
 		userRepository.deleteAll();
+		CLOCK.set(Instant.now());
 	}
 	
 	@Test
@@ -131,6 +169,32 @@ public class AuthControllerTest {
 	}
 	
 	
+	@Test
+	void legacy_bcrypt_hash_is_rehashed_on_login() throws Exception {
+		// 알고리즘 접두어 없이 저장된 예전 BCrypt 해시
+		String legacyHash = new BCryptPasswordEncoder().encode("123123");
+		User user = userRepository.save(User.createLocal("test@test.com", legacyHash, "tester"));
+		
+		String body = """
+				{
+				"email": "test@test.com",
+				"password": "123123"
+				}
+				""";
+		
+		mockMvc.perform(post("/api/auth/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+		.andExpect(status().isOk());
+		
+		User reloaded = userRepository.findById(user.getId()).orElseThrow();
+		assertThat(reloaded.getPassword()).isNotEqualTo(legacyHash);
+		assertThat(passwordEncoder.matches("123123", reloaded.getPassword())).isTrue();
+		assertThat(passwordEncoder.upgradeEncoding(reloaded.getPassword())).isFalse();
+		// 비밀번호 자체는 바뀌지 않았으므로 기존 access token 은 그대로 유효하다
+		assertThat(reloaded.getTokenVersion()).isEqualTo(user.getTokenVersion());
+	}
+	
 	@Test
 	void login_fail_400() throws Exception {
 		userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
@@ -202,7 +266,8 @@ public class AuthControllerTest {
 		
 		var cookie = result.getResponse().getCookie("refreshToken");
 		String rawRefresh = cookie.getValue();
-		RefreshToken saved = refreshTokenRepository.findByUserId(user.getId()).orElseThrow();
+		RefreshToken saved = refreshTokenRepository.findById(
+				refreshTokenRepository.findIdsByUserIdOrderByRecentUse(user.getId()).getFirst()).orElseThrow();
 		
 		assertThat(saved.getTokenHash()).isEqualTo(refreshTokenHasher.hash(rawRefresh));
 		assertThat(saved.getExpiresAt()).isNotNull();
@@ -214,7 +279,7 @@ public class AuthControllerTest {
 		
 		String oldRefreshToken = jwtTokenProvider.createRefreshToken(user.getId());
 		JwtClaims oldClaims = jwtTokenProvider.parse(oldRefreshToken);
-		refreshTokenService.upsert(user, oldRefreshToken, oldClaims.tokenId(), oldClaims.expiresAt());
+		refreshTokenService.create(user, oldRefreshToken, oldClaims.tokenId(), oldClaims.expiresAt());
 		
 		MockCookie oldCookie = new MockCookie("refreshToken", oldRefreshToken);
 		
@@ -255,7 +320,7 @@ public class AuthControllerTest {
 	    
 	    String oldRefreshToken = jwtTokenProvider.createRefreshToken(user.getId());
 	    JwtClaims oldClaims = jwtTokenProvider.parse(oldRefreshToken);
-	    refreshTokenService.upsert(user, oldRefreshToken, oldClaims.tokenId(), oldClaims.expiresAt());
+	    refreshTokenService.create(user, oldRefreshToken, oldClaims.tokenId(), oldClaims.expiresAt());
 
 	    MockCookie oldCookie = new MockCookie("refreshToken", oldRefreshToken);
 	    
@@ -266,6 +331,133 @@ public class AuthControllerTest {
         .andExpect(status().isUnauthorized());
 	}
 	
+	@Test
+	void sessions_are_kept_per_device_up_to_the_cap() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		
+		List<Cookie> cookies = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			MvcResult login = mockMvc.perform(post("/api/auth/login")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("""
+							{
+							"email": "test@test.com",
+							"password": "123123"
+							}
+							"""))
+					.andExpect(status().isOk())
+					.andReturn();
+			cookies.add(login.getResponse().getCookie("refreshToken"));
+		}
+		
+		// 기본 최대 5개. 가장 오래 쓰지 않은 첫 번째 기기 세션이 밀려난다
+		assertThat(refreshTokenRepository.findIdsByUserIdOrderByRecentUse(user.getId())).hasSize(5);
+		
+		mockMvc.perform(post("/api/auth/reissue").cookie(cookies.get(0)))
+        .andExpect(status().isUnauthorized());
+		
+		mockMvc.perform(post("/api/auth/reissue").cookie(cookies.get(1)))
+        .andExpect(status().isOk());
+		
+		// 한 기기의 로그아웃은 다른 기기 세션에 영향을 주지 않는다
+		mockMvc.perform(post("/api/auth/logout").cookie(cookies.get(5)))
+        .andExpect(status().isNoContent());
+		
+		mockMvc.perform(post("/api/auth/reissue").cookie(cookies.get(4)))
+        .andExpect(status().isOk());
+		
+		assertThat(refreshTokenRepository.findIdsByUserIdOrderByRecentUse(user.getId())).hasSize(4);
+	}
+	
+	@Test
+	void reused_refresh_token_revokes_family() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		
+		MvcResult login = mockMvc.perform(post("/api/auth/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{
+						"email": "test@test.com",
+						"password": "123123"
+						}
+						"""))
+				.andExpect(status().isOk())
+				.andReturn();
+		Cookie stolen = login.getResponse().getCookie("refreshToken");
+		
+		MvcResult reissue = mockMvc.perform(post("/api/auth/reissue").cookie(stolen))
+				.andExpect(status().isOk())
+				.andReturn();
+		Cookie rotated = reissue.getResponse().getCookie("refreshToken");
+		assertThat(jwtTokenProvider.parse(rotated.getValue()).familyId())
+				.isEqualTo(jwtTokenProvider.parse(stolen.getValue()).familyId());
+		
+		// 동시 요청으로 볼 수 있는 시간이 지난 뒤 이미 회전된 토큰이 다시 오면
+		// family 전체가 끊기므로 최신 토큰도 더 이상 쓸 수 없다
+		CLOCK.advance(Duration.ofSeconds(refreshTokenProperties.reuseGraceSeconds() + 1));
+		mockMvc.perform(post("/api/auth/reissue").cookie(stolen))
+        .andExpect(status().isUnauthorized());
+		
+		mockMvc.perform(post("/api/auth/reissue").cookie(rotated))
+        .andExpect(status().isUnauthorized());
+		
+		assertThat(refreshTokenRepository.findIdsByUserIdOrderByRecentUse(user.getId())).isEmpty();
+		assertThat(applicationEvents.stream(RefreshTokenReuseDetectedEvent.class)).hasSize(1);
+	}
+	
+	@Test
+	void concurrent_reissue_with_the_same_token_succeeds_once() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		
+		String refreshToken = jwtTokenProvider.createRefreshToken(user.getId());
+		JwtClaims claims = jwtTokenProvider.parse(refreshToken);
+		refreshTokenService.create(user, refreshToken, claims.tokenId(), claims.expiresAt());
+		
+		List<MvcResult> results = reissueConcurrently(new MockCookie("refreshToken", refreshToken), 2);
+		
+		// 조건부 UPDATE 로 회전하므로 같은 토큰으로는 한 요청만 새 토큰을 받는다
+		assertThat(results).extracting(r -> r.getResponse().getStatus()).containsExactlyInAnyOrder(200, 401);
+	}
+	
+	@Test
+	void concurrent_reissue_is_not_treated_as_reuse() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		
+		String refreshToken = jwtTokenProvider.createRefreshToken(user.getId());
+		JwtClaims claims = jwtTokenProvider.parse(refreshToken);
+		refreshTokenService.create(user, refreshToken, claims.tokenId(), claims.expiresAt());
+		
+		List<MvcResult> results = reissueConcurrently(new MockCookie("refreshToken", refreshToken), 2);
+		Cookie rotated = results.stream()
+				.filter(r -> r.getResponse().getStatus() == 200)
+				.findFirst()
+				.orElseThrow()
+				.getResponse()
+				.getCookie("refreshToken");
+		
+		// 진 요청 때문에 family 가 끊기지 않아 이긴 쪽이 받은 토큰으로 계속 재발급할 수 있다
+		assertThat(refreshTokenRepository.findIdsByUserIdOrderByRecentUse(user.getId())).hasSize(1);
+		mockMvc.perform(post("/api/auth/reissue").cookie(rotated))
+        .andExpect(status().isOk());
+	}
+	
+	@Test
+	void expired_refresh_token_is_rejected_and_swept() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		
+		// JWT 자체는 유효하지만 DB 에 저장된 만료 시각이 지났다
+		String refreshToken = jwtTokenProvider.createRefreshToken(user.getId());
+		JwtClaims claims = jwtTokenProvider.parse(refreshToken);
+		refreshTokenService.create(user, refreshToken, claims.tokenId(), Instant.now().minusSeconds(60));
+		
+		mockMvc.perform(post("/api/auth/reissue").cookie(new MockCookie("refreshToken", refreshToken)))
+        .andExpect(status().isUnauthorized());
+		
+		refreshTokenSweeper.sweep();
+		
+		assertThat(refreshTokenRepository.findIdsByUserIdOrderByRecentUse(user.getId())).isEmpty();
+	}
+	
 	@Test
 	void logout_success_204() throws Exception {
 		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
@@ -293,7 +485,7 @@ public class AuthControllerTest {
         .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString("Max-Age=0")))
         .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString("Path=/api/auth")));
 		
-		assertThat(refreshTokenRepository.findByUserId(user.getId())).isEmpty();
+		assertThat(refreshTokenRepository.findIdsByUserIdOrderByRecentUse(user.getId())).isEmpty();
 	}
 	
 	@Test
@@ -317,7 +509,7 @@ public class AuthControllerTest {
 
 	    String savedRefresh = jwtTokenProvider.createRefreshToken(user.getId());
 	    JwtClaims savedClaims = jwtTokenProvider.parse(savedRefresh);
-	    refreshTokenService.upsert(user, savedRefresh, savedClaims.tokenId(), savedClaims.expiresAt());
+	    refreshTokenService.create(user, savedRefresh, savedClaims.tokenId(), savedClaims.expiresAt());
 
 	    String differentRefresh = jwtTokenProvider.createRefreshToken(user.getId());
 	    MockCookie mismatchCookie = new MockCookie("refreshToken", differentRefresh);
@@ -325,6 +517,29 @@ public class AuthControllerTest {
 	    mockMvc.perform(post("/api/auth/logout").cookie(mismatchCookie))
 	            .andExpect(status().isUnauthorized());
 	}
+	
+	private List<MvcResult> reissueConcurrently(Cookie cookie, int requests) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(requests);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<MvcResult>> futures = new ArrayList<>();
+			for (int i = 0; i < requests; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return mockMvc.perform(post("/api/auth/reissue").cookie(cookie)).andReturn();
+				}));
+			}
+			start.countDown();
+			
+			List<MvcResult> results = new ArrayList<>();
+			for (Future<MvcResult> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 
 
 }
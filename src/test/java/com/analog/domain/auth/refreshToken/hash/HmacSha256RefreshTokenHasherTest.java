@@ -0,0 +1,48 @@
+package com.analog.domain.auth.refreshToken.hash;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class HmacSha256RefreshTokenHasherTest {
+
+	// RFC 4231 test case 2
+	private static final String KEY = "Jefe";
+	private static final String DATA = "what do ya want for nothing?";
+	private static final String EXPECTED = "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843";
+	
+	@Test
+	void hash_matches_known_hmac_sha256_vector() {
+		RefreshTokenHasher hasher = new HmacSha256RefreshTokenHasher(KEY);
+		
+		assertThat(hasher.hash(DATA)).isEqualTo(EXPECTED);
+		// Mac 을 재사용해도 이전 호출의 상태가 남지 않는다
+		assertThat(hasher.hash(DATA)).isEqualTo(EXPECTED);
+	}
+	
+	@Test
+	void hash_is_identical_across_threads() throws Exception {
+		RefreshTokenHasher hasher = new HmacSha256RefreshTokenHasher(KEY);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		
+		try {
+			List<Callable<String>> tasks = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				tasks.add(() -> hasher.hash(DATA));
+			}
+			
+			for (Future<String> result : executor.invokeAll(tasks)) {
+				assertThat(result.get()).isEqualTo(EXPECTED);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
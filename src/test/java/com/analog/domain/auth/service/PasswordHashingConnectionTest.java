@@ -0,0 +1,131 @@
+package com.analog.domain.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import com.analog.domain.auth.dto.request.LoginRequest;
+import com.analog.domain.auth.dto.response.LoginResponse;
+import com.analog.domain.auth.refreshToken.repository.RefreshTokenRepository;
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.config.PasswordHashingProperties;
+import com.analog.global.error.BusinessException;
+import com.analog.global.error.ErrorCode;
+import com.analog.global.security.OffloadingPasswordEncoder;
+import com.analog.global.security.PasswordHashAlgorithm;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 커넥션 풀을 해시 풀 + 대기열보다 작게 두고, 해시가 끝나지 않게 막은 채 로그인을 몰아넣는다
+@SpringBootTest(properties = {
+		"spring.datasource.hikari.maximum-pool-size=2",
+		"spring.datasource.hikari.connection-timeout=250"
+})
+class PasswordHashingConnectionTest {
+	
+	private static final int HASH_THREADS = 1;
+	private static final int QUEUE_CAPACITY = 4;
+	
+	private static final CountDownLatch RELEASE = new CountDownLatch(1);
+	private static final SimpleMeterRegistry METER_REGISTRY = new SimpleMeterRegistry();
+	
+	@TestBean
+	PasswordEncoder passwordEncoder;
+	
+	static PasswordEncoder passwordEncoder() {
+		PasswordEncoder blocking = new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				try {
+					RELEASE.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return "hashed:" + rawPassword;
+			}
+			
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return encode(rawPassword).equals(encodedPassword);
+			}
+		};
+		return new OffloadingPasswordEncoder(blocking,
+				new PasswordHashingProperties(HASH_THREADS, QUEUE_CAPACITY, PasswordHashAlgorithm.BCRYPT, 100, 10),
+				METER_REGISTRY);
+	}
+	
+	@Autowired
+	AuthService authService;
+	
+	@Autowired
+	UserRepository userRepository;
+	
+	@Autowired
+	RefreshTokenRepository refreshTokenRepository;
+	
+	@Autowired
+	DataSource dataSource;
+	
+	@AfterEach
+	void tearDown() {
+		RELEASE.countDown();
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+	
+	@Test
+	void full_hashing_queue_does_not_hold_db_connections() throws Exception {
+		// given: 해시 스레드와 대기열을 모두 채울 만큼의 로그인이 해시를 기다리고 있다
+		userRepository.save(User.createLocal("test@test.com", "hashed:123123", "tester"));
+		
+		int requests = HASH_THREADS + QUEUE_CAPACITY;
+		ExecutorService executor = Executors.newFixedThreadPool(requests);
+		List<Future<LoginResponse>> logins = new ArrayList<>();
+		try {
+			for (int i = 0; i < requests; i++) {
+				logins.add(executor.submit(() -> authService.login(new LoginRequest("test@test.com", "123123"))));
+			}
+			
+			while (METER_REGISTRY.get("auth.password.queue").gauge().value() < QUEUE_CAPACITY) {
+				Thread.sleep(10);
+			}
+			
+			// when & then: 해시를 기다리는 요청은 커넥션을 잡고 있지 않아 다른 DB 작업이 막히지 않는다
+			assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections())
+					.isZero();
+			assertThat(userRepository.findByEmail("test@test.com")).isPresent();
+			
+			// 대기열이 찬 뒤의 로그인은 기다리지 않고 503 으로 거절된다
+			assertThatThrownBy(() -> authService.login(new LoginRequest("test@test.com", "123123")))
+					.isInstanceOf(BusinessException.class)
+					.extracting(e -> ((BusinessException) e).getErrorCode())
+					.isEqualTo(ErrorCode.SRV_503);
+			
+			RELEASE.countDown();
+			for (Future<LoginResponse> login : logins) {
+				assertThat(login.get(10, TimeUnit.SECONDS).refreshToken()).isNotBlank();
+			}
+		} finally {
+			RELEASE.countDown();
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.analog.domain.diary.analysis.cache.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import com.analog.domain.diary.analysis.cache.entity.CachedAnalysisResult;
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+
+@DataJpaTest
+class CachedAnalysisResultRepositoryTest {
+
+	@TestConfiguration
+	@EnableJpaAuditing
+	static class JpaAuditingTestConfig {}
+	
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 2, 6, 0, 0);
+	
+	@Autowired
+	private CachedAnalysisResultRepository cachedAnalysisResultRepository;
+	
+	@Test
+	void insertIfAbsent_keeps_the_first_stored_result() {
+		// given
+		String hash = "a".repeat(64);
+		int first = cachedAnalysisResultRepository.insertIfAbsent(hash, EmotionCategory.JOY.name(), 0.8, "first", NOW);
+		
+		// when
+		int second = cachedAnalysisResultRepository.insertIfAbsent(hash, EmotionCategory.SADNESS.name(), 0.1, "second", NOW.plusMinutes(1));
+		
+		// then: 나중에 온 결과가 먼저 저장된 결과를 덮어쓰지 않는다
+		assertThat(first).isEqualTo(1);
+		assertThat(second).isZero();
+		
+		CachedAnalysisResult stored = cachedAnalysisResultRepository.findById(hash).orElseThrow();
+		assertThat(stored.getEmotionCategory()).isEqualTo(EmotionCategory.JOY);
+		assertThat(stored.getSummarySentence()).isEqualTo("first");
+	}
+}
@@ -0,0 +1,98 @@
+package com.analog.domain.diary.analysis.outbox.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import com.analog.domain.diary.analysis.outbox.entity.AnalysisOutbox;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class AnalysisOutboxRepositoryTest {
+
+	@TestConfiguration
+	@EnableJpaAuditing
+	static class JpaAuditingTestConfig {}
+	
+	private static final Instant NOW = Instant.parse("2026-02-06T00:00:00Z");
+	
+	@Autowired
+	private AnalysisOutboxRepository analysisOutboxRepository;
+	
+	@Autowired
+	private EntityManager entityManager;
+	
+	@Test
+	void findClaimable_returns_available_rows_in_id_order_up_to_limit() {
+		// given
+		AnalysisOutbox first = analysisOutboxRepository.save(AnalysisOutbox.create(1L, NOW.minusSeconds(10)));
+		AnalysisOutbox second = analysisOutboxRepository.save(AnalysisOutbox.create(2L, NOW));
+		analysisOutboxRepository.save(AnalysisOutbox.create(3L, NOW.minusSeconds(5)));
+		analysisOutboxRepository.save(AnalysisOutbox.create(4L, NOW.plusSeconds(60)));
+		
+		// when
+		List<AnalysisOutbox> claimable = analysisOutboxRepository.findClaimable(NOW, Limit.of(2));
+		
+		// then: lease 가 남은 행은 빠지고, id 순으로 limit 만큼만 가져온다
+		assertThat(claimable).extracting(AnalysisOutbox::getId)
+				.containsExactly(first.getId(), second.getId());
+	}
+	
+	@Test
+	void leased_row_becomes_claimable_after_lease_expiry() {
+		// given
+		AnalysisOutbox outbox = analysisOutboxRepository.save(AnalysisOutbox.create(1L, NOW));
+		outbox.claim(NOW.plusSeconds(300));
+		analysisOutboxRepository.saveAndFlush(outbox);
+		
+		// when & then
+		assertThat(analysisOutboxRepository.findClaimable(NOW.plusSeconds(299), Limit.of(10))).isEmpty();
+		assertThat(analysisOutboxRepository.findClaimable(NOW.plusSeconds(300), Limit.of(10)))
+				.extracting(AnalysisOutbox::getId)
+				.containsExactly(outbox.getId());
+	}
+	
+	@Test
+	void release_makes_row_available_and_returns_the_delivery() {
+		// given
+		AnalysisOutbox outbox = analysisOutboxRepository.save(AnalysisOutbox.create(1L, NOW));
+		outbox.claim(NOW.plusSeconds(300));
+		outbox.claim(NOW.plusSeconds(600));
+		analysisOutboxRepository.saveAndFlush(outbox);
+		
+		// when
+		analysisOutboxRepository.release(outbox.getId(), NOW);
+		entityManager.clear();
+		
+		// then
+		AnalysisOutbox released = analysisOutboxRepository.findById(outbox.getId()).orElseThrow();
+		assertThat(released.getDeliveries()).isEqualTo(1);
+		assertThat(released.getAvailableAt()).isEqualTo(NOW);
+	}
+	
+	@Test
+	void releaseByDiaryAnalysisIdIn_returns_the_delivery_without_going_negative() {
+		// given
+		AnalysisOutbox claimed = analysisOutboxRepository.save(AnalysisOutbox.create(1L, NOW));
+		claimed.claim(NOW.plusSeconds(300));
+		AnalysisOutbox fresh = analysisOutboxRepository.saveAndFlush(AnalysisOutbox.create(2L, NOW.plusSeconds(300)));
+		
+		// when
+		analysisOutboxRepository.releaseByDiaryAnalysisIdIn(List.of(1L, 2L), NOW);
+		entityManager.clear();
+		
+		// then
+		assertThat(analysisOutboxRepository.findById(claimed.getId()).orElseThrow().getDeliveries()).isZero();
+		assertThat(analysisOutboxRepository.findById(fresh.getId()).orElseThrow().getDeliveries()).isZero();
+		assertThat(analysisOutboxRepository.findClaimable(NOW, Limit.of(10))).hasSize(2);
+	}
+}
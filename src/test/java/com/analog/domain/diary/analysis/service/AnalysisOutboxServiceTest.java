@@ -0,0 +1,226 @@
+package com.analog.domain.diary.analysis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.analog.domain.diary.analysis.dto.PendingAnalysis;
+import com.analog.domain.diary.analysis.entity.AnalysisStatus;
+import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
+import com.analog.domain.diary.analysis.outbox.entity.AnalysisOutbox;
+import com.analog.domain.diary.analysis.outbox.repository.AnalysisOutboxRepository;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.diary.entity.Diary;
+import com.analog.domain.diary.repository.DiaryRepository;
+import com.analog.domain.summary.repository.EmotionSummaryRepository;
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.config.DiaryAnalysisProperties;
+import com.analog.support.MutableClock;
+
+// poller 가 끼어들지 않도록 주기를 충분히 길게 두고 claim 을 직접 호출한다
+@SpringBootTest(properties = "diary.analysis.outbox.poll-interval-millis=3600000")
+class AnalysisOutboxServiceTest {
+
+	private static final MutableClock CLOCK = new MutableClock(Instant.now());
+	
+	@TestBean
+	Clock clock;
+	
+	static Clock clock() {
+		return CLOCK;
+	}
+	
+	@Autowired
+	AnalysisOutboxService analysisOutboxService;
+	
+	@Autowired
+	AnalysisOutboxRepository analysisOutboxRepository;
+	
+	@Autowired
+	DiaryAnalysisWorker diaryAnalysisWorker;
+	
+	@Autowired
+	DiaryAnalysisService diaryAnalysisService;
+	
+	@Autowired
+	DiaryAnalysisRepository diaryAnalysisRepository;
+	
+	@Autowired
+	DiaryRepository diaryRepository;
+	
+	@Autowired
+	EmotionSummaryRepository emotionSummaryRepository;
+	
+	@Autowired
+	UserRepository userRepository;
+	
+	@Autowired
+	DiaryAnalysisProperties props;
+	
+	@Autowired
+	TransactionTemplate transactionTemplate;
+	
+	@AfterEach
+	void tearDown() {
+		analysisOutboxRepository.deleteAll();
+		emotionSummaryRepository.deleteAll();
+		diaryAnalysisRepository.deleteAll();
+		diaryRepository.deleteAll();
+		userRepository.deleteAll();
+		CLOCK.set(Instant.now());
+	}
+	
+	@Test
+	void concurrent_claims_never_return_the_same_row() throws Exception {
+		// given
+		for (long id = 1; id <= 6; id++) {
+			analysisOutboxRepository.save(AnalysisOutbox.create(id, CLOCK.instant()));
+		}
+		
+		// when: 첫 트랜잭션이 행을 잡은 채로 있는 동안 두 번째 claim 이 실행된다
+		CountDownLatch firstClaimed = new CountDownLatch(1);
+		CountDownLatch secondDone = new CountDownLatch(1);
+		CompletableFuture<List<ClaimedAnalysis>> first = CompletableFuture.supplyAsync(() ->
+				transactionTemplate.execute(status -> {
+					List<ClaimedAnalysis> claimed = analysisOutboxService.claim(3);
+					firstClaimed.countDown();
+					try {
+						// SKIP LOCKED 를 지원하지 않으면 두 번째 claim 이 기다리므로 제한 시간 후 커밋한다
+						secondDone.await(500, TimeUnit.MILLISECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return claimed;
+				}));
+		
+		firstClaimed.await(5, TimeUnit.SECONDS);
+		CompletableFuture<List<ClaimedAnalysis>> second = CompletableFuture.supplyAsync(() -> {
+			try {
+				return analysisOutboxService.claim(6);
+			} finally {
+				secondDone.countDown();
+			}
+		});
+		
+		// then
+		Set<Long> firstIds = outboxIds(first.get(10, TimeUnit.SECONDS));
+		Set<Long> secondIds = outboxIds(second.get(10, TimeUnit.SECONDS));
+		assertThat(firstIds).hasSize(3).doesNotContainAnyElementsOf(secondIds);
+		assertThat(secondIds).hasSize(3);
+	}
+	
+	@Test
+	void leased_row_is_reclaimed_only_after_lease_expiry() {
+		// given
+		analysisOutboxRepository.save(AnalysisOutbox.create(1L, CLOCK.instant()));
+		assertThat(analysisOutboxService.claim(10)).singleElement()
+				.extracting(ClaimedAnalysis::deliveries).isEqualTo(1);
+		
+		// when & then
+		assertThat(analysisOutboxService.claim(10)).isEmpty();
+		
+		CLOCK.advance(Duration.ofSeconds(props.outbox().leaseSeconds()));
+		assertThat(analysisOutboxService.claim(10)).singleElement()
+				.extracting(ClaimedAnalysis::deliveries).isEqualTo(2);
+	}
+	
+	@Test
+	void released_row_is_reclaimed_without_counting_a_delivery() {
+		// given
+		analysisOutboxRepository.save(AnalysisOutbox.create(1L, CLOCK.instant()));
+		ClaimedAnalysis claimed = analysisOutboxService.claim(10).getFirst();
+		
+		// when: batcher 대기열이 가득 차 돌려놓는 경우
+		analysisOutboxService.release(claimed.outboxId());
+		
+		// then
+		assertThat(analysisOutboxService.claim(10)).singleElement()
+				.extracting(ClaimedAnalysis::deliveries).isEqualTo(1);
+	}
+	
+	@Test
+	void analysis_over_max_deliveries_is_failed_without_analyzing() throws Exception {
+		// given
+		int maxDeliveries = props.outbox().maxDeliveries();
+		DiaryAnalysis exhausted = pendingAnalysis("exhausted");
+		DiaryAnalysis lastChance = pendingAnalysis("last chance");
+		AnalysisOutbox exhaustedOutbox = analysisOutboxRepository.save(AnalysisOutbox.create(exhausted.getId(), CLOCK.instant()));
+		AnalysisOutbox lastChanceOutbox = analysisOutboxRepository.save(AnalysisOutbox.create(lastChance.getId(), CLOCK.instant()));
+		
+		// when
+		diaryAnalysisWorker.execute(List.of(
+				new ClaimedAnalysis(exhaustedOutbox.getId(), exhausted.getId(), maxDeliveries + 1),
+				new ClaimedAnalysis(lastChanceOutbox.getId(), lastChance.getId(), maxDeliveries)));
+		
+		// then: 한도를 넘은 작업만 실패 처리되고, 한도까지는 분석한다
+		assertThat(awaitStatus(exhausted.getId())).isEqualTo(AnalysisStatus.FAILED);
+		assertThat(awaitStatus(lastChance.getId())).isEqualTo(AnalysisStatus.SUCCESS);
+		assertThat(analysisOutboxRepository.findAll()).isEmpty();
+	}
+	
+	@Test
+	void failure_of_content_edited_while_in_flight_releases_the_row_instead_of_failing() {
+		// given: 수정 전 본문으로 분석하는 동안 일기가 수정됐다. outbox 행이 이미 claim 돼 있어 수정 때 새로 쌓이지 않는다
+		DiaryAnalysis analysis = pendingAnalysis("before edit");
+		analysisOutboxRepository.save(AnalysisOutbox.create(analysis.getId(), CLOCK.instant()));
+		analysisOutboxService.claim(10);
+		List<PendingAnalysis> inFlight = diaryAnalysisService.findPending(List.of(analysis.getId()));
+		
+		Diary diary = diaryRepository.findById(analysis.getDiary().getId()).orElseThrow();
+		diary.update(null, "after edit", null);
+		diaryRepository.save(diary);
+		
+		// when: 수정 전 본문의 분석이 실패한다
+		diaryAnalysisService.failAll(inFlight);
+		
+		// then: 실패로 남기지 않고 행을 풀어 새 본문을 다시 분석하게 한다
+		assertThat(diaryAnalysisRepository.findById(analysis.getId()).orElseThrow().getStatus())
+				.isEqualTo(AnalysisStatus.PENDING);
+		assertThat(analysisOutboxService.claim(10)).singleElement()
+				.extracting(ClaimedAnalysis::analysisId).isEqualTo(analysis.getId());
+	}
+	
+	private DiaryAnalysis pendingAnalysis(String content) {
+		User user = userRepository.findAll().stream().findFirst()
+				.orElseGet(() -> userRepository.save(User.createLocal("outbox@test.com", "pw", "tester")));
+		Diary diary = diaryRepository.save(Diary.create(user, "title", content, LocalDate.now(CLOCK)));
+		
+		return diaryAnalysisRepository.save(DiaryAnalysis.pending(diary, LocalDateTime.now(CLOCK)));
+	}
+	
+	private AnalysisStatus awaitStatus(Long analysisId) throws InterruptedException {
+		for (int i = 0; i < 50; i++) {
+			DiaryAnalysis analysis = diaryAnalysisRepository.findById(analysisId).orElseThrow();
+			if (!analysis.isPending()) {
+				return analysis.getStatus();
+			}
+			Thread.sleep(100);
+		}
+		
+		throw new AssertionError("diary analysis did not complete in time");
+	}
+	
+	private static Set<Long> outboxIds(List<ClaimedAnalysis> claimed) {
+		Set<Long> ids = new HashSet<>();
+		claimed.forEach(c -> ids.add(c.outboxId()));
+		return ids;
+	}
+}
@@ -0,0 +1,255 @@
+package com.analog.domain.diary.analysis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.analog.domain.diary.analysis.analyzer.AnalysisResult;
+import com.analog.domain.diary.analysis.analyzer.DiaryAnalyzer;
+import com.analog.domain.diary.analysis.entity.AnalysisStatus;
+import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.diary.entity.Diary;
+import com.analog.domain.diary.repository.DiaryRepository;
+import com.analog.domain.summary.repository.EmotionSummaryRepository;
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.repository.UserRepository;
+
+@SpringBootTest(properties = {
+		"diary.analysis.analyzer=recording",
+		"diary.analysis.outbox.poll-interval-millis=3600000",
+		"diary.analysis.batch.max-size=3",
+		"diary.analysis.batch.max-linger-millis=500",
+		"diary.analysis.concurrency=1",
+		"diary.analysis.queue-capacity=4",
+		"diary.analysis.retry-backoff-millis=10"
+})
+class DiaryAnalysisBatcherTest {
+
+	@TestConfiguration
+	static class FakeAnalyzerConfig {
+		
+		@Bean
+		RecordingDiaryAnalyzer recordingDiaryAnalyzer() {
+			return new RecordingDiaryAnalyzer();
+		}
+	}
+	
+	// 모델 대신 들어가는 가짜 분석기. 배치 호출을 기록하고, 본문을 그대로 돌려줘 결과가 제자리에 붙는지 확인한다
+	static class RecordingDiaryAnalyzer implements DiaryAnalyzer {
+		
+		final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+		volatile CountDownLatch gate;
+		
+		@Override
+		public AnalysisResult analyze(String content) {
+			if (content.contains("poison")) {
+				throw new IllegalStateException("model rejected entry");
+			}
+			return new AnalysisResult(EmotionCategory.NEUTRAL, 0.0, "echo:" + content);
+		}
+		
+		@Override
+		public List<AnalysisResult> analyzeBatch(List<String> contents) {
+			batches.add(List.copyOf(contents));
+			
+			CountDownLatch current = gate;
+			if (current != null) {
+				try {
+					current.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			
+			return DiaryAnalyzer.super.analyzeBatch(contents);
+		}
+	}
+	
+	@Autowired
+	RecordingDiaryAnalyzer analyzer;
+	
+	@Autowired
+	DiaryAnalysisBatcher diaryAnalysisBatcher;
+	
+	@Autowired
+	DiaryAnalysisRepository diaryAnalysisRepository;
+	
+	@Autowired
+	DiaryRepository diaryRepository;
+	
+	@Autowired
+	EmotionSummaryRepository emotionSummaryRepository;
+	
+	@Autowired
+	UserRepository userRepository;
+	
+	private User user;
+	
+	@BeforeEach
+	void setUp() {
+		analyzer.batches.clear();
+		analyzer.gate = null;
+		user = userRepository.save(User.createLocal("batcher@test.com", "pw", "tester"));
+	}
+	
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		CountDownLatch gate = analyzer.gate;
+		if (gate != null) {
+			gate.countDown();
+		}
+		awaitIdle();
+		emotionSummaryRepository.deleteAll();
+		diaryAnalysisRepository.deleteAll();
+		diaryRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+	
+	@Test
+	void full_batches_are_sent_at_max_size_and_the_rest_after_linger() throws Exception {
+		// given
+		List<DiaryAnalysis> analyses = pendingAnalyses(7);
+		
+		// when
+		analyses.forEach(a -> assertThat(diaryAnalysisBatcher.submit(job(a))).isTrue());
+		awaitCompleted(analyses);
+		
+		// then: 3개씩 채워진 배치는 바로, 남은 1개는 linger 후 한 번에 보낸다
+		assertThat(analyzer.batches).extracting(List::size).containsExactlyInAnyOrder(3, 3, 1);
+	}
+	
+	@Test
+	void partial_batch_is_flushed_after_linger() throws Exception {
+		// given
+		List<DiaryAnalysis> analyses = pendingAnalyses(2);
+		
+		// when
+		long start = System.nanoTime();
+		analyses.forEach(a -> diaryAnalysisBatcher.submit(job(a)));
+		awaitCompleted(analyses);
+		
+		// then
+		assertThat(analyzer.batches).extracting(List::size).containsExactly(2);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(400);
+	}
+	
+	@Test
+	void results_are_fanned_out_to_their_own_rows() throws Exception {
+		// given
+		List<DiaryAnalysis> analyses = pendingAnalyses(3);
+		
+		// when
+		analyses.forEach(a -> diaryAnalysisBatcher.submit(job(a)));
+		awaitCompleted(analyses);
+		
+		// then
+		for (DiaryAnalysis analysis : analyses) {
+			DiaryAnalysis done = diaryAnalysisRepository.findById(analysis.getId()).orElseThrow();
+			Diary diary = diaryRepository.findById(analysis.getDiary().getId()).orElseThrow();
+			assertThat(done.getStatus()).isEqualTo(AnalysisStatus.SUCCESS);
+			assertThat(done.getSummarySentence()).isEqualTo("echo:" + diary.getContent());
+		}
+	}
+	
+	@Test
+	void one_bad_entry_does_not_fail_the_rest_of_the_batch() throws Exception {
+		// given
+		List<DiaryAnalysis> analyses = new ArrayList<>(pendingAnalyses(2));
+		DiaryAnalysis poison = pendingAnalysis("poison " + UUID.randomUUID());
+		analyses.add(poison);
+		
+		// when
+		analyses.forEach(a -> diaryAnalysisBatcher.submit(job(a)));
+		awaitCompleted(analyses);
+		
+		// then
+		for (DiaryAnalysis analysis : analyses) {
+			AnalysisStatus expected = analysis.getId().equals(poison.getId()) ? AnalysisStatus.FAILED : AnalysisStatus.SUCCESS;
+			assertThat(diaryAnalysisRepository.findById(analysis.getId()).orElseThrow().getStatus()).isEqualTo(expected);
+		}
+	}
+	
+	@Test
+	void submit_is_rejected_when_the_worker_cannot_keep_up() throws Exception {
+		// given: 모델 호출이 끝나지 않아 워커 동시 실행 수(1)가 묶여 있다
+		analyzer.gate = new CountDownLatch(1);
+		List<DiaryAnalysis> analyses = pendingAnalyses(20);
+		
+		// when
+		List<DiaryAnalysis> accepted = new ArrayList<>();
+		boolean rejected = false;
+		for (DiaryAnalysis analysis : analyses) {
+			if (diaryAnalysisBatcher.submit(job(analysis))) {
+				accepted.add(analysis);
+			} else {
+				rejected = true;
+				break;
+			}
+			Thread.sleep(20);
+		}
+		
+		// then: 대기열이 가득 차면 받지 않고, 풀리면 받은 작업은 모두 처리된다
+		assertThat(rejected).isTrue();
+		assertThat(diaryAnalysisBatcher.remainingCapacity()).isZero();
+		
+		analyzer.gate.countDown();
+		awaitCompleted(accepted);
+	}
+	
+	private ClaimedAnalysis job(DiaryAnalysis analysis) {
+		// outbox 행 없이 바로 넣는다. 완료 시 outbox 삭제는 0건이 된다
+		return new ClaimedAnalysis(-analysis.getId(), analysis.getId(), 1);
+	}
+	
+	private List<DiaryAnalysis> pendingAnalyses(int count) {
+		List<DiaryAnalysis> analyses = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			// 결과 캐시에 걸리지 않도록 본문을 매번 다르게 만든다
+			analyses.add(pendingAnalysis("entry " + UUID.randomUUID()));
+		}
+		return analyses;
+	}
+	
+	private DiaryAnalysis pendingAnalysis(String content) {
+		Diary diary = diaryRepository.save(Diary.create(user, "title", content, LocalDate.now()));
+		return diaryAnalysisRepository.save(DiaryAnalysis.pending(diary, LocalDateTime.now()));
+	}
+	
+	private void awaitCompleted(List<DiaryAnalysis> analyses) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			boolean done = analyses.stream()
+					.map(a -> diaryAnalysisRepository.findById(a.getId()).orElseThrow())
+					.noneMatch(DiaryAnalysis::isPending);
+			if (done) {
+				return;
+			}
+			Thread.sleep(100);
+		}
+		
+		throw new AssertionError("diary analyses did not complete in time");
+	}
+	
+	private void awaitIdle() throws InterruptedException {
+		for (int i = 0; i < 100 && diaryAnalysisBatcher.remainingCapacity() < 4; i++) {
+			Thread.sleep(50);
+		}
+		Thread.sleep(200);
+	}
+}
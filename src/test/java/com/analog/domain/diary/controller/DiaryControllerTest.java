@@ -1,10 +1,15 @@
 package com.analog.domain.diary.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -16,14 +21,22 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.analog.domain.auth.refreshToken.repository.RefreshTokenRepository;
+import com.analog.domain.diary.analysis.entity.AnalysisStatus;
+import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
 import com.analog.domain.diary.entity.Diary;
 import com.analog.domain.diary.repository.DiaryRepository;
 import com.analog.domain.user.entity.User;
 import com.analog.domain.user.repository.UserRepository;
 import com.analog.global.security.jwt.JwtTokenProvider;
 
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 public class DiaryControllerTest {
@@ -34,6 +47,9 @@ public class DiaryControllerTest {
 	@Autowired
     DiaryRepository diaryRepository;
 	
+	@Autowired
+	DiaryAnalysisRepository diaryAnalysisRepository;
+	
 	@Autowired
 	UserRepository userRepository;
 	
@@ -46,8 +62,12 @@ public class DiaryControllerTest {
 	@Autowired
 	RefreshTokenRepository refreshTokenRepository;
 	
+	@Autowired
+	ObjectMapper objectMapper;
+	
 	@AfterEach
 	void tearDown() {
+		diaryAnalysisRepository.deleteAll();
 		diaryRepository.deleteAll();
 		refreshTokenRepository.deleteAll();
 		userRepository.deleteAll();
@@ -83,6 +103,136 @@ public class DiaryControllerTest {
 	    assertThat(saved.getDiaryDate()).isEqualTo(LocalDate.of(2026, 2, 25));
 	}
 	
+	@Test
+	void created_diary_is_analyzed_asynchronously() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		mockMvc.perform(post("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                		{
+                		"title": "제목",
+                		"content": "오늘은 조금 우울했지만 산책을 했다.",
+                		"diaryDate": "2026-02-25"
+                		}
+                		"""))
+        .andExpect(status().isCreated());
+		
+		DiaryAnalysis analysis = awaitAnalysis();
+		assertThat(analysis.getStatus()).isEqualTo(AnalysisStatus.SUCCESS);
+		assertThat(analysis.getEmotionCategory()).isEqualTo(EmotionCategory.SADNESS);
+		assertThat(analysis.getSummarySentence()).isNotBlank();
+	}
+	
+	@Test
+	void same_content_reuses_cached_analysis() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		mockMvc.perform(post("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                		{
+                		"title": "첫 번째",
+                		"content": "오늘은 정말 행복했다.",
+                		"diaryDate": "2026-02-25"
+                		}
+                		"""))
+        .andExpect(status().isCreated());
+		awaitAnalysis();
+		
+		// 공백만 다른 본문은 모델을 거치지 않고 바로 결과가 채워진다
+		mockMvc.perform(post("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                		{
+                		"title": "두 번째",
+                		"content": "  오늘은   정말 행복했다. ",
+                		"diaryDate": "2026-02-26"
+                		}
+                		"""))
+        .andExpect(status().isCreated());
+		
+		List<DiaryAnalysis> analyses = diaryAnalysisRepository.findAll();
+		assertThat(analyses).hasSize(2);
+		assertThat(analyses).allSatisfy(a -> {
+			assertThat(a.getStatus()).isEqualTo(AnalysisStatus.SUCCESS);
+			assertThat(a.getEmotionCategory()).isEqualTo(EmotionCategory.JOY);
+		});
+	}
+	
+	@Test
+	void update_diary_reanalyzes_only_when_content_changes() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		Diary diary = diaryRepository.save(Diary.create(user, "제목", "오늘은 정말 행복했다.", LocalDate.of(2026, 2, 25)));
+		DiaryAnalysis analysis = diaryAnalysisRepository.save(DiaryAnalysis.pending(diary, LocalDateTime.now()));
+		analysis.succeed(EmotionCategory.JOY, 0.7, "기쁜 감정이 돋보인 하루였다.", LocalDateTime.now());
+		diaryAnalysisRepository.save(analysis);
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		mockMvc.perform(patch("/api/diaries/" + diary.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                		{
+                		"title": "바뀐 제목",
+                		"content": "오늘은 정말  행복했다.",
+                		"diaryDate": "2026-02-25"
+                		}
+                		"""))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.title").value("바뀐 제목"))
+        .andExpect(jsonPath("$.analysis.status").value("SUCCESS"));
+		
+		DiaryAnalysis unchanged = diaryAnalysisRepository.findAll().get(0);
+		assertThat(unchanged.getStatus()).isEqualTo(AnalysisStatus.SUCCESS);
+		assertThat(unchanged.getEmotionCategory()).isEqualTo(EmotionCategory.JOY);
+		assertThat(diaryRepository.findAll().get(0).getTitle()).isEqualTo("바뀐 제목");
+		
+		mockMvc.perform(patch("/api/diaries/" + diary.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                		{
+                		"title": "바뀐 제목",
+                		"content": "시험 결과가 걱정되어 잠이 오지 않았다."
+                		}
+                		"""))
+        .andExpect(status().isOk());
+		
+		DiaryAnalysis reanalyzed = awaitAnalysis();
+		assertThat(reanalyzed.getStatus()).isEqualTo(AnalysisStatus.SUCCESS);
+		assertThat(reanalyzed.getEmotionCategory()).isEqualTo(EmotionCategory.ANXIETY);
+	}
+	
+	@Test
+	void update_other_users_diary_403() throws Exception {
+		User owner = userRepository.save(User.createLocal("owner@test.com", passwordEncoder.encode("123123"), "owner"));
+		User other = userRepository.save(User.createLocal("other@test.com", passwordEncoder.encode("123123"), "other"));
+		Diary diary = diaryRepository.save(Diary.create(owner, "제목", "내용", LocalDate.of(2026, 2, 25)));
+		
+		String accessToken = jwtTokenProvider.createAccessToken(other.getId());
+		
+		mockMvc.perform(patch("/api/diaries/" + diary.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                		{
+                		"title": "제목",
+                		"content": "바뀐 내용",
+                		"diaryDate": "2026-02-25"
+                		}
+                		"""))
+        .andExpect(status().isForbidden());
+	}
+	
 	@Test
 	void created_diary_fali() throws Exception {
 		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
@@ -103,4 +253,176 @@ public class DiaryControllerTest {
 	                    .content(requestBody))
 	            .andExpect(status().isBadRequest());	
 	}
+	
+	@Test
+	void get_diaries_by_cursor() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		for (int day = 1; day <= 5; day++) {
+			diaryRepository.save(Diary.create(user, "제목" + day, "내용", LocalDate.of(2026, 2, day)));
+		}
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		MvcResult first = mockMvc.perform(get("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.diaries.length()").value(2))
+        .andExpect(jsonPath("$.diaries[0].diaryDate").value("2026-02-05"))
+        .andExpect(jsonPath("$.diaries[1].diaryDate").value("2026-02-04"))
+        .andExpect(jsonPath("$.pageInfo.hasNext").value(true))
+        .andExpect(jsonPath("$.pageInfo.totalElements").doesNotExist())
+        .andReturn();
+		
+		String cursor = readTree(first).path("pageInfo").path("nextCursor").asString();
+		
+		MvcResult second = mockMvc.perform(get("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("size", "2")
+                .param("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.diaries[0].diaryDate").value("2026-02-03"))
+        .andExpect(jsonPath("$.diaries[1].diaryDate").value("2026-02-02"))
+        .andReturn();
+		
+		cursor = readTree(second).path("pageInfo").path("nextCursor").asString();
+		
+		mockMvc.perform(get("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("size", "2")
+                .param("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.diaries.length()").value(1))
+        .andExpect(jsonPath("$.diaries[0].diaryDate").value("2026-02-01"))
+        .andExpect(jsonPath("$.pageInfo.hasNext").value(false));
+	}
+	
+	@Test
+	void get_diaries_by_page_number() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		User other = userRepository.save(User.createLocal("other@test.com", passwordEncoder.encode("123123"), "other"));
+		for (int day = 1; day <= 5; day++) {
+			diaryRepository.save(Diary.create(user, "제목" + day, "내용", LocalDate.of(2026, 2, day)));
+		}
+		diaryRepository.save(Diary.create(other, "남의 일기", "내용", LocalDate.of(2026, 2, 3)));
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		mockMvc.perform(get("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("from", "2026-02-02")
+                .param("to", "2026-02-05")
+                .param("page", "1")
+                .param("size", "3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.diaries.length()").value(1))
+        .andExpect(jsonPath("$.diaries[0].diaryDate").value("2026-02-02"))
+        .andExpect(jsonPath("$.pageInfo.page").value(1))
+        .andExpect(jsonPath("$.pageInfo.totalElements").value(4))
+        .andExpect(jsonPath("$.pageInfo.totalPages").value(2));
+	}
+	
+	@Test
+	void get_diaries_invalid_range_400() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		mockMvc.perform(get("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("from", "2026-02-05")
+                .param("to", "2026-02-01"))
+        .andExpect(status().isBadRequest());
+		
+		mockMvc.perform(get("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("size", "101"))
+        .andExpect(status().isBadRequest());
+	}
+	
+	@Test
+	void get_diaries_returns_content_preview() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		diaryRepository.save(Diary.create(user, "긴 일기", "가".repeat(1000), LocalDate.of(2026, 2, 25)));
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		MvcResult result = mockMvc.perform(get("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+        .andExpect(status().isOk())
+        .andReturn();
+		
+		assertThat(readTree(result).path("diaries").path(0).path("content").asString()).hasSize(200);
+	}
+	
+	@Test
+	void get_diary_detail() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		User other = userRepository.save(User.createLocal("other@test.com", passwordEncoder.encode("123123"), "other"));
+		Diary diary = diaryRepository.save(Diary.create(user, "제목", "가".repeat(1000), LocalDate.of(2026, 2, 25)));
+		DiaryAnalysis analysis = diaryAnalysisRepository.save(DiaryAnalysis.pending(diary, LocalDateTime.now()));
+		analysis.succeed(EmotionCategory.CALM, 0.4, "차분하고 안정된 하루였다.", LocalDateTime.now());
+		diaryAnalysisRepository.save(analysis);
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		mockMvc.perform(get("/api/diaries/" + diary.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.diaryId").value(diary.getId()))
+        .andExpect(jsonPath("$.content").value("가".repeat(1000)))
+        .andExpect(jsonPath("$.analysis.status").value("SUCCESS"))
+        .andExpect(jsonPath("$.analysis.emotionCategory").value("CALM"));
+		
+		// 휴지통 조건이 맞지 않으면 404
+		mockMvc.perform(get("/api/diaries/" + diary.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("trash", "true"))
+        .andExpect(status().isNotFound());
+		
+		mockMvc.perform(get("/api/diaries/" + diary.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtTokenProvider.createAccessToken(other.getId())))
+        .andExpect(status().isForbidden());
+	}
+	
+	@Test
+	void force_delete_diary() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		User other = userRepository.save(User.createLocal("other@test.com", passwordEncoder.encode("123123"), "other"));
+		Diary diary = diaryRepository.save(Diary.create(user, "제목", "내용", LocalDate.of(2026, 2, 25)));
+		diaryAnalysisRepository.save(DiaryAnalysis.pending(diary, LocalDateTime.now()));
+		
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		mockMvc.perform(delete("/api/diaries/" + diary.getId() + "/force")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtTokenProvider.createAccessToken(other.getId())))
+        .andExpect(status().isForbidden());
+		
+		mockMvc.perform(delete("/api/diaries/" + diary.getId() + "/force")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+        .andExpect(status().isNoContent());
+		
+		assertThat(diaryRepository.findById(diary.getId())).isEmpty();
+		assertThat(diaryAnalysisRepository.findAll()).isEmpty();
+		
+		mockMvc.perform(delete("/api/diaries/" + diary.getId() + "/force")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+        .andExpect(status().isNotFound());
+	}
+	
+	private JsonNode readTree(MvcResult result) throws Exception {
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+	
+	private DiaryAnalysis awaitAnalysis() throws InterruptedException {
+		for (int i = 0; i < 50; i++) {
+			List<DiaryAnalysis> analyses = diaryAnalysisRepository.findAll();
+			if (!analyses.isEmpty() && !analyses.get(0).isPending()) {
+				return analyses.get(0);
+			}
+			Thread.sleep(100);
+		}
+		
+		throw new AssertionError("diary analysis did not complete in time");
+	}
 }
@@ -0,0 +1,152 @@
+package com.analog.domain.diary.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
+import com.analog.domain.diary.analysis.outbox.entity.AnalysisOutbox;
+import com.analog.domain.diary.analysis.outbox.repository.AnalysisOutboxRepository;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.diary.entity.Diary;
+import com.analog.domain.diary.repository.DiaryRepository;
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.support.MutableClock;
+
+// 스케줄과 outbox poller 는 끄고 purge 를 직접 호출한다
+@SpringBootTest(properties = {
+		"diary.trash.cron=-",
+		"diary.trash.retention-days=30",
+		"diary.trash.batch-size=2",
+		"diary.trash.max-deletes-per-second=10",
+		"diary.analysis.outbox.poll-interval-millis=3600000"
+})
+class DiaryTrashPurgeJobTest {
+
+	private static final MutableClock CLOCK = new MutableClock(Instant.parse("2026-03-01T04:00:00Z"));
+	
+	@TestBean
+	Clock clock;
+	
+	static Clock clock() {
+		return CLOCK;
+	}
+	
+	@Autowired
+	DiaryTrashPurgeJob diaryTrashPurgeJob;
+	
+	@Autowired
+	DiaryBulkDeleter diaryBulkDeleter;
+	
+	@Autowired
+	DiaryRepository diaryRepository;
+	
+	@Autowired
+	DiaryAnalysisRepository diaryAnalysisRepository;
+	
+	@Autowired
+	AnalysisOutboxRepository analysisOutboxRepository;
+	
+	@Autowired
+	UserRepository userRepository;
+	
+	private User user;
+	
+	@BeforeEach
+	void setUp() {
+		user = userRepository.save(User.createLocal("purge@test.com", "pw", "tester"));
+	}
+	
+	@AfterEach
+	void tearDown() {
+		analysisOutboxRepository.deleteAll();
+		diaryAnalysisRepository.deleteAll();
+		diaryRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+	
+	@Test
+	void only_diaries_trashed_before_the_retention_cutoff_are_purged() throws InterruptedException {
+		// given
+		LocalDateTime now = LocalDateTime.now(CLOCK);
+		Diary expired = diary(now.minusDays(30).minusMinutes(1));
+		DiaryAnalysis expiredAnalysis = diaryAnalysisRepository.save(DiaryAnalysis.pending(expired, now));
+		AnalysisOutbox expiredOutbox = analysisOutboxRepository.save(AnalysisOutbox.create(expiredAnalysis.getId(), CLOCK.instant()));
+		Diary recent = diary(now.minusDays(30).plusMinutes(1));
+		Diary live = diary(null);
+		
+		// when
+		long purged = diaryTrashPurgeJob.purge();
+		
+		// then
+		assertThat(purged).isEqualTo(1);
+		assertThat(diaryRepository.existsById(expired.getId())).isFalse();
+		assertThat(diaryAnalysisRepository.existsById(expiredAnalysis.getId())).isFalse();
+		assertThat(analysisOutboxRepository.existsById(expiredOutbox.getId())).isFalse();
+		assertThat(diaryRepository.existsById(recent.getId())).isTrue();
+		assertThat(diaryRepository.existsById(live.getId())).isTrue();
+	}
+	
+	@Test
+	void purge_deletes_in_batches_within_the_rate_limit() throws InterruptedException {
+		// given
+		LocalDateTime trashedAt = LocalDateTime.now(CLOCK).minusDays(40);
+		for (int i = 0; i < 5; i++) {
+			diary(trashedAt.plusMinutes(i));
+		}
+		
+		// when
+		long startedAt = System.nanoTime();
+		long purged = diaryTrashPurgeJob.purge();
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+		
+		// then: 2, 2, 1 개씩 지우고, 가득 찬 두 배치 뒤에는 초당 10개 기준으로 각각 200ms 씩 쉰다
+		assertThat(purged).isEqualTo(5);
+		assertThat(diaryRepository.count()).isZero();
+		assertThat(elapsedMillis).isGreaterThanOrEqualTo(400);
+	}
+	
+	@Test
+	void diary_restored_after_lookup_is_not_purged() {
+		// given: 삭제 대상을 조회한 뒤 사용자가 일기를 복구했다
+		LocalDateTime before = LocalDateTime.now(CLOCK).minusDays(30);
+		Diary restored = diary(before.minusDays(1));
+		Diary expired = diary(before.minusDays(1));
+		List<Long> diaryIds = diaryRepository.findTrashedIds(before, Limit.of(10));
+		
+		Diary reloaded = diaryRepository.findById(restored.getId()).orElseThrow();
+		reloaded.restore();
+		diaryRepository.save(reloaded);
+		
+		// when
+		int deleted = diaryBulkDeleter.deleteTrashed(diaryIds, before);
+		
+		// then
+		assertThat(diaryIds).containsExactlyInAnyOrder(restored.getId(), expired.getId());
+		assertThat(deleted).isEqualTo(1);
+		assertThat(diaryRepository.existsById(restored.getId())).isTrue();
+		assertThat(diaryRepository.existsById(expired.getId())).isFalse();
+	}
+	
+	private Diary diary(LocalDateTime trashedAt) {
+		Diary diary = Diary.create(user, "title", "content", LocalDate.now(CLOCK));
+		if (trashedAt != null) {
+			diary.trash(trashedAt);
+		}
+		return diaryRepository.save(diary);
+	}
+}
@@ -0,0 +1,178 @@
+package com.analog.domain.summary.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.analog.domain.diary.analysis.entity.DiaryAnalysis;
+import com.analog.domain.diary.analysis.repository.DiaryAnalysisRepository;
+import com.analog.domain.diary.entity.Diary;
+import com.analog.domain.diary.repository.DiaryRepository;
+import com.analog.domain.summary.repository.EmotionSummaryRepository;
+import com.analog.domain.summary.repository.GeneratedSummaryRepository;
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.security.jwt.JwtTokenProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SummaryControllerTest {
+
+	@Autowired
+	MockMvc mockMvc;
+	
+	@Autowired
+	DiaryRepository diaryRepository;
+	
+	@Autowired
+	DiaryAnalysisRepository diaryAnalysisRepository;
+	
+	@Autowired
+	EmotionSummaryRepository emotionSummaryRepository;
+	
+	@Autowired
+	GeneratedSummaryRepository generatedSummaryRepository;
+	
+	@Autowired
+	UserRepository userRepository;
+	
+	@Autowired
+	PasswordEncoder passwordEncoder;
+	
+	@Autowired
+	JwtTokenProvider jwtTokenProvider;
+	
+	@Autowired
+	MeterRegistry meterRegistry;
+	
+	@AfterEach
+	void tearDown() {
+		generatedSummaryRepository.deleteAll();
+		emotionSummaryRepository.deleteAll();
+		diaryAnalysisRepository.deleteAll();
+		diaryRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+	
+	@Test
+	void summaries_follow_analysis_trash_and_restore() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		createDiary(accessToken, "오늘은 정말 행복했다.", "2026-02-23");
+		createDiary(accessToken, "친구와 즐거운 저녁을 먹었다.", "2026-02-24");
+		createDiary(accessToken, "하루 종일 우울했다.", "2026-02-25");
+		awaitAnalyses(3);
+		
+		mockMvc.perform(get("/api/summaries/weekly")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("date", "2026-02-25"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.period").value("2026-02-23 ~ 2026-03-01"))
+        .andExpect(jsonPath("$.summarySentence").value("이번 주는 전반적으로 기쁜 날이 많았어요."));
+		
+		// 집계가 바뀌지 않았으면 다시 조회해도 모델을 호출하지 않는다
+		double modelCalls = modelCalls();
+		mockMvc.perform(get("/api/summaries/weekly")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("date", "2026-02-23"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.summarySentence").value("이번 주는 전반적으로 기쁜 날이 많았어요."));
+		assertThat(modelCalls()).isEqualTo(modelCalls);
+		
+		// 기쁜 일기 두 개를 휴지통으로 보내면 집계에서 빠진다
+		List<Diary> joyful = diaryRepository.findAll().stream()
+				.filter(d -> !d.getContent().contains("우울"))
+				.toList();
+		for (Diary diary : joyful) {
+			mockMvc.perform(delete("/api/diaries/" + diary.getId())
+	                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+	        .andExpect(status().isNoContent());
+		}
+		
+		mockMvc.perform(get("/api/summaries/weekly")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("date", "2026-03-01"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.summarySentence").value("이번 주는 전반적으로 우울한 날이 많았어요."));
+		
+		mockMvc.perform(post("/api/diaries/" + joyful.get(0).getId() + "/restore")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.deletedAt").doesNotExist());
+		
+		mockMvc.perform(get("/api/summaries/monthly")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("year", "2026")
+                .param("month", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.period").value("2026-02-01 ~ 2026-02-28"))
+        .andExpect(jsonPath("$.summarySentence").value("이번 달은 전반적으로 기쁜 날이 많았어요."));
+	}
+	
+	@Test
+	void empty_period_and_invalid_month() throws Exception {
+		User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+		String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+		
+		mockMvc.perform(get("/api/summaries/weekly")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("date", "2026-01-08"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.period").value("2026-01-05 ~ 2026-01-11"))
+        .andExpect(jsonPath("$.summarySentence").value("이번 주에는 분석된 일기가 없어요."));
+		
+		mockMvc.perform(get("/api/summaries/monthly")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .param("year", "2026")
+                .param("month", "13"))
+        .andExpect(status().isBadRequest());
+	}
+	
+	private void createDiary(String accessToken, String content, String diaryDate) throws Exception {
+		mockMvc.perform(post("/api/diaries")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                		{
+                		"title": "제목",
+                		"content": "%s",
+                		"diaryDate": "%s"
+                		}
+                		""".formatted(content, diaryDate)))
+        .andExpect(status().isCreated());
+	}
+	
+	private double modelCalls() {
+		return meterRegistry.counter("summary.generation", "source", "model").count();
+	}
+	
+	private void awaitAnalyses(int expected) throws InterruptedException {
+		for (int i = 0; i < 50; i++) {
+			List<DiaryAnalysis> analyses = diaryAnalysisRepository.findAll();
+			if (analyses.size() == expected && analyses.stream().noneMatch(DiaryAnalysis::isPending)) {
+				return;
+			}
+			Thread.sleep(100);
+		}
+		
+		throw new AssertionError("diary analyses did not complete in time");
+	}
+}
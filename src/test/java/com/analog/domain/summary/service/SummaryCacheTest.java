@@ -0,0 +1,83 @@
+package com.analog.domain.summary.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.analog.domain.summary.entity.PeriodType;
+import com.analog.global.config.SummaryProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SummaryCacheTest {
+
+	private static final SummaryKey KEY = new SummaryKey(1L, PeriodType.WEEK, LocalDate.of(2026, 2, 2));
+	
+	private final SummaryCache summaryCache = new SummaryCache(
+			new SummaryProperties(new SummaryProperties.Cache(100), new SummaryProperties.Precompute(500, 4, 600)),
+			new SimpleMeterRegistry());
+	
+	@Test
+	void concurrent_gets_run_the_loader_once() throws Exception {
+		// given
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		
+		// when
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> summaryCache.get(KEY, key -> {
+			loads.incrementAndGet();
+			loading.countDown();
+			await(release);
+			return "sentence";
+		}));
+		loading.await(5, TimeUnit.SECONDS);
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> summaryCache.get(KEY, key -> {
+			loads.incrementAndGet();
+			return "other";
+		}));
+		Thread.sleep(100);
+		release.countDown();
+		
+		// then
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("sentence");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("sentence");
+		assertThat(loads).hasValue(1);
+	}
+	
+	@Test
+	void evict_does_not_wait_for_a_running_load_and_drops_its_result() throws Exception {
+		// given: 모델 호출이 끝나지 않은 적재
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> summaryCache.get(KEY, key -> {
+			loading.countDown();
+			await(release);
+			return "stale";
+		}));
+		loading.await(5, TimeUnit.SECONDS);
+		
+		// when: 집계가 바뀌어 비운다. 적재가 끝나기 전에 바로 돌아온다
+		CompletableFuture<Void> evict = CompletableFuture.runAsync(() -> summaryCache.evict(KEY));
+		evict.get(1, TimeUnit.SECONDS);
+		release.countDown();
+		
+		// then: 이전 집계로 만든 결과는 캐시에 남지 않는다
+		assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+		assertThat(summaryCache.get(KEY, key -> "fresh")).isEqualTo("fresh");
+	}
+	
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,270 @@
+package com.analog.domain.summary.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.analog.domain.diary.analysis.entity.EmotionCategory;
+import com.analog.domain.summary.client.LocalSummaryModelClient;
+import com.analog.domain.summary.client.SummaryPrompt;
+import com.analog.domain.summary.entity.PeriodType;
+import com.analog.domain.summary.entity.SummaryPrecomputeCheckpoint;
+import com.analog.domain.summary.repository.EmotionSummaryRepository;
+import com.analog.domain.summary.repository.GeneratedSummaryRepository;
+import com.analog.domain.summary.repository.SummaryPrecomputeCheckpointRepository;
+import com.analog.domain.user.entity.User;
+import com.analog.domain.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 스케줄은 끄고 precompute 를 직접 호출한다. 청크 경계를 보기 위해 청크를 작게 둔다
+@SpringBootTest(properties = {
+		"summary.model=failing",
+		"summary.precompute.cron=-",
+		"summary.precompute.chunk-size=2",
+		"summary.precompute.concurrency=2"
+})
+class SummaryPrecomputeJobTest {
+
+	// 집계 건수가 이 값인 사용자는 요약 생성이 실패한다
+	private static final int FAILING_ENTRY_COUNT = 3;
+	
+	private static final LocalDate WEEK_START = LocalDate.of(2026, 2, 2);
+	
+	@TestConfiguration
+	static class FailingSummaryClientConfig {
+		
+		@Bean
+		LocalSummaryModelClient failingSummaryModelClient() {
+			return new LocalSummaryModelClient() {
+				
+				@Override
+				public String summarize(SummaryPrompt prompt) {
+					if (prompt.entryCount() == FAILING_ENTRY_COUNT) {
+						throw new IllegalStateException("summary model unavailable");
+					}
+					return super.summarize(prompt);
+				}
+			};
+		}
+	}
+	
+	@Autowired
+	SummaryPrecomputeJob summaryPrecomputeJob;
+	
+	@Autowired
+	SummaryPrecomputeCheckpointRepository checkpointRepository;
+	
+	@Autowired
+	GeneratedSummaryRepository generatedSummaryRepository;
+	
+	@Autowired
+	EmotionSummaryRepository emotionSummaryRepository;
+	
+	@Autowired
+	UserRepository userRepository;
+	
+	@Autowired
+	TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	MeterRegistry meterRegistry;
+	
+	@Autowired
+	SummaryCache summaryCache;
+	
+	@AfterEach
+	void tearDown() {
+		checkpointRepository.deleteAll();
+		generatedSummaryRepository.deleteAll();
+		emotionSummaryRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+	
+	@Test
+	void findIdsWithSummaryAfter_pages_by_id_and_skips_users_without_entries_or_withdrawn() {
+		// given
+		List<Long> ids = usersWithWeeklySummary(3, 1);
+		userWithWeeklySummary("empty@test.com", 0);
+		withdrawnUserWithWeeklySummary();
+		
+		// when
+		List<Long> first = userRepository.findIdsWithSummaryAfter(0L, PeriodType.WEEK, WEEK_START, Limit.of(2));
+		List<Long> second = userRepository.findIdsWithSummaryAfter(first.getLast(), PeriodType.WEEK, WEEK_START, Limit.of(2));
+		
+		// then
+		assertThat(first).containsExactly(ids.get(0), ids.get(1));
+		assertThat(second).containsExactly(ids.get(2));
+	}
+	
+	@Test
+	void precompute_generates_every_eligible_user_across_chunks() throws InterruptedException {
+		// given
+		List<Long> ids = usersWithWeeklySummary(5, 1);
+		Long withdrawnId = withdrawnUserWithWeeklySummary();
+		
+		// when
+		summaryPrecomputeJob.precompute(WEEK_START);
+		
+		// then
+		ids.forEach(id -> assertThat(generatedFor(id)).isTrue());
+		assertThat(generatedFor(withdrawnId)).isFalse();
+		
+		// 행만 저장하고 메모리 캐시는 채우지 않는다
+		SummaryKey key = new SummaryKey(ids.getFirst(), PeriodType.WEEK, WEEK_START);
+		assertThat(summaryCache.get(key, k -> "not cached")).isEqualTo("not cached");
+		
+		SummaryPrecomputeCheckpoint checkpoint = checkpoint();
+		assertThat(checkpoint.isCompleted()).isTrue();
+		assertThat(checkpoint.getLastUserId()).isEqualTo(ids.getLast());
+		assertThat(checkpoint.getProcessedCount()).isEqualTo(5);
+		assertThat(checkpoint.getFailedCount()).isZero();
+	}
+	
+	@Test
+	void precompute_resumes_after_the_last_finished_chunk() throws InterruptedException {
+		// given: 앞의 두 사용자까지 처리하고 중단된 상태
+		List<Long> ids = usersWithWeeklySummary(5, 1);
+		SummaryPrecomputeCheckpoint interrupted = SummaryPrecomputeCheckpoint.create(PeriodType.WEEK, WEEK_START);
+		interrupted.advance(ids.get(1), 2, 0);
+		checkpointRepository.save(interrupted);
+		
+		// when
+		summaryPrecomputeJob.precompute(WEEK_START);
+		
+		// then
+		assertThat(generatedFor(ids.get(0))).isFalse();
+		assertThat(generatedFor(ids.get(1))).isFalse();
+		ids.subList(2, 5).forEach(id -> assertThat(generatedFor(id)).isTrue());
+		
+		SummaryPrecomputeCheckpoint checkpoint = checkpoint();
+		assertThat(checkpoint.isCompleted()).isTrue();
+		assertThat(checkpoint.getProcessedCount()).isEqualTo(5);
+	}
+	
+	@Test
+	void completed_week_is_not_processed_again() throws InterruptedException {
+		// given
+		usersWithWeeklySummary(1, 1);
+		summaryPrecomputeJob.precompute(WEEK_START);
+		Long late = userWithWeeklySummary("late@test.com", 1);
+		
+		// when
+		summaryPrecomputeJob.precompute(WEEK_START);
+		
+		// then
+		assertThat(generatedFor(late)).isFalse();
+		assertThat(checkpoint().getProcessedCount()).isEqualTo(1);
+	}
+	
+	@Test
+	void run_claimed_by_another_instance_is_skipped() throws InterruptedException {
+		// given: 다른 인스턴스가 lease 를 가져가 실행 중이다
+		Long id = userWithWeeklySummary("other@test.com", 1);
+		SummaryPrecomputeCheckpoint running = SummaryPrecomputeCheckpoint.create(PeriodType.WEEK, WEEK_START);
+		running.extendLease(LocalDateTime.now().plusDays(1));
+		checkpointRepository.save(running);
+		
+		// when
+		summaryPrecomputeJob.precompute(WEEK_START);
+		
+		// then
+		assertThat(generatedFor(id)).isFalse();
+		assertThat(checkpoint().isCompleted()).isFalse();
+		assertThat(checkpoint().getProcessedCount()).isZero();
+	}
+	
+	@Test
+	void expired_lease_is_taken_over() throws InterruptedException {
+		// given: 실행하던 인스턴스가 lease 를 남긴 채 죽었다
+		Long id = userWithWeeklySummary("orphan@test.com", 1);
+		SummaryPrecomputeCheckpoint orphaned = SummaryPrecomputeCheckpoint.create(PeriodType.WEEK, WEEK_START);
+		orphaned.extendLease(LocalDateTime.now().minusDays(1));
+		checkpointRepository.save(orphaned);
+		
+		// when
+		summaryPrecomputeJob.precompute(WEEK_START);
+		
+		// then
+		assertThat(generatedFor(id)).isTrue();
+		assertThat(checkpoint().isCompleted()).isTrue();
+	}
+	
+	@Test
+	void failed_user_is_counted_and_the_run_continues() throws InterruptedException {
+		// given
+		List<Long> ids = usersWithWeeklySummary(2, 1);
+		Long failing = userWithWeeklySummary("failing@test.com", FAILING_ENTRY_COUNT);
+		ids.addAll(usersWithWeeklySummary(2, 2));
+		
+		double successBefore = counter("success");
+		double failedBefore = counter("failed");
+		
+		// when
+		summaryPrecomputeJob.precompute(WEEK_START);
+		
+		// then
+		ids.forEach(id -> assertThat(generatedFor(id)).isTrue());
+		assertThat(generatedFor(failing)).isFalse();
+		
+		SummaryPrecomputeCheckpoint checkpoint = checkpoint();
+		assertThat(checkpoint.isCompleted()).isTrue();
+		assertThat(checkpoint.getProcessedCount()).isEqualTo(5);
+		assertThat(checkpoint.getFailedCount()).isEqualTo(1);
+		assertThat(counter("success") - successBefore).isEqualTo(4);
+		assertThat(counter("failed") - failedBefore).isEqualTo(1);
+	}
+	
+	private List<Long> usersWithWeeklySummary(int count, int entries) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ids.add(userWithWeeklySummary("user" + entries + "-" + i + "@test.com", entries));
+		}
+		return ids;
+	}
+	
+	private Long userWithWeeklySummary(String email, int entries) {
+		User user = userRepository.save(User.createLocal(email, "pw", "tester"));
+		transactionTemplate.executeWithoutResult(status -> {
+			emotionSummaryRepository.insertIfAbsent(user.getId(), PeriodType.WEEK.name(), WEEK_START, LocalDateTime.now());
+			var summary = emotionSummaryRepository.findForUpdate(user.getId(), PeriodType.WEEK, WEEK_START).orElseThrow();
+			for (int i = 0; i < entries; i++) {
+				summary.add(EmotionCategory.JOY, 0.8);
+			}
+			summary.touch();
+		});
+		return user.getId();
+	}
+	
+	private Long withdrawnUserWithWeeklySummary() {
+		Long id = userWithWeeklySummary("withdrawn@test.com", 1);
+		User user = userRepository.findById(id).orElseThrow();
+		user.withdraw(LocalDateTime.now());
+		userRepository.save(user);
+		return id;
+	}
+	
+	private boolean generatedFor(Long userId) {
+		return generatedSummaryRepository.findByUserIdAndPeriodTypeAndPeriodStart(userId, PeriodType.WEEK, WEEK_START).isPresent();
+	}
+	
+	private SummaryPrecomputeCheckpoint checkpoint() {
+		return checkpointRepository.findByPeriodTypeAndPeriodStart(PeriodType.WEEK, WEEK_START).orElseThrow();
+	}
+	
+	private double counter(String result) {
+		return meterRegistry.counter("summary.precompute.users", "result", result).count();
+	}
+}
@@ -30,6 +30,7 @@ import com.analog.domain.diary.entity.Diary;
 import com.analog.domain.diary.repository.DiaryRepository;
 import com.analog.domain.user.entity.User;
 import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.security.auth.PrincipalCache;
 import com.analog.global.security.jwt.JwtClaims;
 import com.analog.global.security.jwt.JwtTokenProvider;
 
@@ -61,6 +62,9 @@ public class UserControllerTest {
     @Autowired
     DiaryAnalysisRepository diaryAnalysisRepository;
     
+    @Autowired
+    PrincipalCache principalCache;
+    
     @AfterEach
     void tearDown() {
         refreshTokenRepository.deleteAll();
@@ -123,6 +127,27 @@ public class UserControllerTest {
         assertThat(updated.getName()).isEqualTo("newName");
     }
     
+    @Test
+    void update_me_evicts_cached_principal() throws Exception {
+    	User user = userRepository.save(User.createLocal("test@test.com", passwordEncoder.encode("123123"), "tester"));
+    	String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+    	
+    	mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+               .andExpect(status().isOk());
+    	
+    	mockMvc.perform(patch("/api/users/me")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .content("""
+                        { "name": "newName" }
+                        """))
+                .andExpect(status().isOk());
+    	
+    	User cached = principalCache.get(user.getId()).orElseThrow();
+    	assertThat(cached.getName()).isEqualTo("newName");
+    }
+    
     @Test
     void update_me_fails() throws Exception {
         mockMvc.perform(patch("/api/users/me")
@@ -185,7 +210,7 @@ public class UserControllerTest {
     	String accessToken = jwtTokenProvider.createAccessToken(user.getId());
     	String oldRefreshToken = jwtTokenProvider.createRefreshToken(user.getId());
         JwtClaims oldClaims = jwtTokenProvider.parse(oldRefreshToken);
-        refreshTokenService.upsert(user, oldRefreshToken, oldClaims.tokenId(), oldClaims.expiresAt());
+        refreshTokenService.create(user, oldRefreshToken, oldClaims.tokenId(), oldClaims.expiresAt());
         
         MvcResult result = mockMvc.perform(patch("/api/users/me/password")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -352,7 +377,18 @@ public class UserControllerTest {
         .andExpect(header().string("Set-Cookie", org.hamcrest.Matchers.containsString("refreshToken=")))
         .andExpect(header().string("Set-Cookie", org.hamcrest.Matchers.containsString("Max-Age=0")));
 
+        // 계정은 응답 시점에 이미 막혀 있다
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + accessToken))
+        .andExpect(status().isUnauthorized());
+
+        // 데이터는 커밋 후 비동기로 정리된다
+        for (int i = 0; i < 50 && userRepository.findById(user.getId()).isPresent(); i++) {
+        	Thread.sleep(100);
+        }
         assertThat(userRepository.findById(user.getId())).isEmpty();
+        assertThat(diaryRepository.findById(d1.getId())).isEmpty();
+        assertThat(diaryAnalysisRepository.findAll()).isEmpty();
     }
     
     @Test
@@ -0,0 +1,50 @@
+package com.analog.global.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class IterationTaggedPbkdf2PasswordEncoderTest {
+
+	@Test
+	void hash_verifies_under_an_encoder_with_a_different_iteration_count() {
+		// given
+		String hash = new IterationTaggedPbkdf2PasswordEncoder(1_000).encode("123123");
+		
+		// when
+		IterationTaggedPbkdf2PasswordEncoder encoder = new IterationTaggedPbkdf2PasswordEncoder(2_000);
+		
+		// then: 저장된 반복 횟수로 검증한다
+		assertThat(hash).startsWith("1000$");
+		assertThat(encoder.matches("123123", hash)).isTrue();
+		assertThat(encoder.matches("456456", hash)).isFalse();
+	}
+	
+	@Test
+	void upgradeEncoding_only_for_lower_iteration_count() {
+		// given
+		IterationTaggedPbkdf2PasswordEncoder encoder = new IterationTaggedPbkdf2PasswordEncoder(2_000);
+		
+		// when & then
+		assertThat(encoder.upgradeEncoding(new IterationTaggedPbkdf2PasswordEncoder(1_000).encode("123123"))).isTrue();
+		assertThat(encoder.upgradeEncoding(encoder.encode("123123"))).isFalse();
+		assertThat(encoder.upgradeEncoding(new IterationTaggedPbkdf2PasswordEncoder(3_000).encode("123123"))).isFalse();
+	}
+	
+	@Test
+	void malformed_iteration_prefix_is_rejected() {
+		// given
+		IterationTaggedPbkdf2PasswordEncoder encoder = new IterationTaggedPbkdf2PasswordEncoder(1_000);
+		String hash = encoder.encode("123123").substring("1000$".length());
+		
+		// when & then
+		assertThat(encoder.matches("123123", hash)).isFalse();
+		assertThat(encoder.matches("123123", "$" + hash)).isFalse();
+		assertThat(encoder.matches("123123", "abc$" + hash)).isFalse();
+		assertThat(encoder.matches("123123", "0$" + hash)).isFalse();
+		assertThat(encoder.matches("123123", "-1000$" + hash)).isFalse();
+		assertThat(encoder.matches("123123", "99999999999$" + hash)).isFalse();
+		assertThat(encoder.matches("123123", (PasswordHashAlgorithm.PBKDF2.maxCost() + 1) + "$" + hash)).isFalse();
+		assertThat(encoder.matches("123123", null)).isFalse();
+	}
+}
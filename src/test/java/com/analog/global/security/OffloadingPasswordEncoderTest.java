@@ -0,0 +1,69 @@
+package com.analog.global.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.analog.global.config.PasswordHashingProperties;
+import com.analog.global.error.BusinessException;
+import com.analog.global.error.ErrorCode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OffloadingPasswordEncoderTest {
+
+	@Test
+	void full_queue_is_rejected_with_503() throws Exception {
+		// given: 스레드 1개, 대기열 1칸. 첫 작업이 끝나지 않게 막아 둔다
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder blocking = new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return "hashed:" + rawPassword;
+			}
+			
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return encode(rawPassword).equals(encodedPassword);
+			}
+		};
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(
+				blocking, new PasswordHashingProperties(1, 1, PasswordHashAlgorithm.BCRYPT, 100, 10), meterRegistry);
+		
+		try {
+			CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+			CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+			
+			while (meterRegistry.get("auth.password.queue").gauge().value() < 1) {
+				Thread.sleep(10);
+			}
+			
+			// when & then
+			assertThatThrownBy(() -> encoder.encode("c"))
+					.isInstanceOf(BusinessException.class)
+					.extracting(e -> ((BusinessException) e).getErrorCode())
+					.isEqualTo(ErrorCode.SRV_503);
+			assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+			
+			release.countDown();
+			assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:a");
+			assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:b");
+			assertThat(meterRegistry.get("auth.password.hash").tag("op", "encode").timer().count()).isEqualTo(2);
+		} finally {
+			release.countDown();
+			encoder.shutdown();
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.analog.global.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.analog.global.config.PasswordHashingProperties;
+
+public class PasswordEncoderConfigTest {
+
+	@Test
+	void configured_cost_outside_the_algorithm_range_fails_fast() {
+		for (PasswordHashAlgorithm algorithm : PasswordHashAlgorithm.values()) {
+			assertThatThrownBy(() -> PasswordEncoderConfig.hashingEncoder(properties(algorithm, algorithm.minCost() - 1)))
+					.isInstanceOf(IllegalStateException.class);
+			assertThatThrownBy(() -> PasswordEncoderConfig.hashingEncoder(properties(algorithm, algorithm.maxCost() + 1)))
+					.isInstanceOf(IllegalStateException.class);
+		}
+	}
+	
+	@Test
+	void configured_cost_inside_the_range_is_used() {
+		// given
+		PasswordHashAlgorithm algorithm = PasswordHashAlgorithm.PBKDF2;
+		
+		// when
+		String encoded = PasswordEncoderConfig.hashingEncoder(properties(algorithm, algorithm.minCost())).encode("123123");
+		
+		// then
+		assertThat(encoded).startsWith("{pbkdf2}" + algorithm.minCost() + "$");
+	}
+	
+	private static PasswordHashingProperties properties(PasswordHashAlgorithm algorithm, int cost) {
+		return new PasswordHashingProperties(1, 1, algorithm, 100, cost);
+	}
+}
@@ -0,0 +1,39 @@
+package com.analog.global.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class PasswordHashCalibratorTest {
+
+	@Test
+	void cost_is_clamped_to_the_algorithm_minimum() {
+		for (PasswordHashAlgorithm algorithm : PasswordHashAlgorithm.values()) {
+			assertThat(PasswordHashCalibrator.calibrate(algorithm, Duration.ofNanos(1)))
+					.as(algorithm.id())
+					.isEqualTo(algorithm.minCost());
+		}
+	}
+	
+	@Test
+	void cost_is_clamped_to_the_algorithm_maximum() {
+		for (PasswordHashAlgorithm algorithm : PasswordHashAlgorithm.values()) {
+			assertThat(PasswordHashCalibrator.calibrate(algorithm, Duration.ofDays(365)))
+					.as(algorithm.id())
+					.isEqualTo(algorithm.maxCost());
+		}
+	}
+	
+	@Test
+	void cost_scales_with_the_measured_probe_time() {
+		// bcrypt 는 시간이 두 배가 될 때마다 rounds 가 1 오른다
+		assertThat(PasswordHashAlgorithm.BCRYPT.scale(8, 10_000_000, 170_000_000)).isEqualTo(12);
+		assertThat(PasswordHashAlgorithm.BCRYPT.scale(8, 10_000_000, 150_000_000)).isEqualTo(11);
+		
+		// 반복 횟수 기반은 시간에 비례한다
+		assertThat(PasswordHashAlgorithm.PBKDF2.scale(10_000, 10_000_000, 100_000_000)).isEqualTo(100_000);
+		assertThat(PasswordHashAlgorithm.ARGON2.scale(1, 10_000_000, 30_000_000)).isEqualTo(3);
+	}
+}
@@ -1,8 +1,11 @@
 package com.analog.global.security.jwt;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Clock;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +22,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.analog.domain.auth.refreshToken.repository.RefreshTokenRepository;
 import com.analog.domain.user.entity.User;
 import com.analog.domain.user.repository.UserRepository;
+import com.analog.global.config.JwtProperties;
+import com.analog.global.security.auth.AuthPrincipal;
+import com.analog.global.security.auth.PrincipalCache;
+import com.analog.global.security.revocation.AccessTokenRevocationList;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -36,6 +43,15 @@ class JwtAuthenticationFilterTest {
     
     @Autowired
     JwtTokenProvider jwtTokenProvider;
+    
+    @Autowired
+    PrincipalCache principalCache;
+    
+    @Autowired
+    AccessTokenRevocationList accessTokenRevocationList;
+    
+    @Autowired
+    JwtProperties jwtProperties;
 
     @AfterEach
     void tearDown() {
@@ -59,6 +75,71 @@ class JwtAuthenticationFilterTest {
                .andExpect(status().isOk());
     }
 
+    @Test
+    void revoked_access_token_returns_401() throws Exception {
+        User user = userRepository.save(User.createLocal("t@test.com", "pw", "tester"));
+        String revoked = jwtTokenProvider.createAccessToken(user.getId());
+        String other = jwtTokenProvider.createAccessToken(user.getId());
+
+        JwtClaims claims = jwtTokenProvider.parse(revoked);
+        accessTokenRevocationList.revoke(claims.tokenId(), claims.expiresAt());
+
+        mockMvc.perform(get("/api/test/protected")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + revoked))
+               .andExpect(status().isUnauthorized());
+
+        // jti 단위 폐기이므로 같은 사용자의 다른 토큰은 그대로 쓸 수 있다
+        mockMvc.perform(get("/api/test/protected")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + other))
+               .andExpect(status().isOk());
+
+        // 필터를 다시 만들어도 살아 있는 폐기 항목은 유지된다
+        accessTokenRevocationList.rebuild();
+
+        mockMvc.perform(get("/api/test/protected")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + revoked))
+               .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void repeated_requests_are_served_from_principal_cache() throws Exception {
+        User user = userRepository.save(User.createLocal("t@test.com", "pw", "tester"));
+        String accessToken = jwtTokenProvider.createAccessToken(user.getId());
+
+        mockMvc.perform(get("/api/test/protected")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+               .andExpect(status().isOk());
+
+        long hitsBefore = principalCache.stats().hitCount();
+
+        mockMvc.perform(get("/api/test/protected")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+               .andExpect(status().isOk());
+
+        assertThat(principalCache.stats().hitCount()).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    void embedded_principal_token_is_rejected_after_version_bump() throws Exception {
+        User user = userRepository.save(User.createLocal("t@test.com", "pw", "tester"));
+        JwtTokenProvider embedding = new JwtTokenProvider(new JwtProperties(jwtProperties.issuer(), jwtProperties.secret(),
+                jwtProperties.accessTokenExpSeconds(), jwtProperties.refreshTokenExpSeconds(), true), Clock.systemUTC());
+        String accessToken = embedding.issueTokenPair(AuthPrincipal.from(user)).accessToken().token();
+
+        mockMvc.perform(get("/api/test/protected")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+               .andExpect(status().isOk());
+
+        // 비밀번호 변경 등으로 버전이 오르면 클레임이 남아 있어도 더 이상 인정하지 않는다
+        user.updatePasswordHash("pw2");
+        userRepository.save(user);
+        principalCache.evict(user.getId());
+
+        mockMvc.perform(get("/api/test/protected")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+               .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void invalid_token_returns_401() throws Exception {
         mockMvc.perform(get("/api/test/protected")
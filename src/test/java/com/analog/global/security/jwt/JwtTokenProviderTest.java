@@ -5,12 +5,17 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
+import com.analog.domain.user.entity.AuthProvider;
+import com.analog.domain.user.entity.UserRole;
 import com.analog.global.config.JwtProperties;
+import com.analog.global.security.auth.AuthPrincipal;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -27,7 +32,7 @@ class JwtTokenProviderTest {
         Clock fixed = Clock.fixed(now, ZoneOffset.UTC);
 
         String secret = base64Secret("01234567890123456789012345678901");
-        JwtProperties props = new JwtProperties("analog", secret, 900, 1209600);
+        JwtProperties props = new JwtProperties("analog", secret, 900, 1209600, false);
         JwtTokenProvider provider = new JwtTokenProvider(props, fixed);
 
         String token = provider.createAccessToken(1L);
@@ -37,13 +42,34 @@ class JwtTokenProviderTest {
         assertThat(claims.tokenType()).isEqualTo(TokenType.ACCESS);
 	}
 	
+	@Test
+	void issued_token_pair_matches_parsed_claims() {
+		Instant now = Instant.parse("2026-02-06T00:00:00Z");
+        Clock fixed = Clock.fixed(now, ZoneOffset.UTC);
+
+        String secret = base64Secret("01234567890123456789012345678901");
+        JwtTokenProvider provider = new JwtTokenProvider(new JwtProperties("analog", secret, 900, 1209600, false), fixed);
+
+        TokenPair pair = provider.issueTokenPair(1L);
+
+        JwtClaims access = provider.parse(pair.accessToken().token());
+        assertThat(access.tokenType()).isEqualTo(TokenType.ACCESS);
+        assertThat(access.tokenId()).isEqualTo(pair.accessToken().tokenId());
+        assertThat(access.expiresAt()).isEqualTo(pair.accessToken().expiresAt());
+
+        JwtClaims refresh = provider.parse(pair.refreshToken().token());
+        assertThat(refresh.tokenType()).isEqualTo(TokenType.REFRESH);
+        assertThat(refresh.tokenId()).isEqualTo(pair.refreshToken().tokenId());
+        assertThat(refresh.expiresAt()).isEqualTo(now.plusSeconds(1209600));
+	}
+	
 	@Test
     void expired_token_throws() {
         Instant now = Instant.parse("2026-02-06T00:00:00Z");
         Clock fixed = Clock.fixed(now, ZoneOffset.UTC);
 
         String secret = base64Secret("01234567890123456789012345678901");
-        JwtProperties props = new JwtProperties("analog", secret, 1, 2);
+        JwtProperties props = new JwtProperties("analog", secret, 1, 2, false);
 
         JwtTokenProvider provider = new JwtTokenProvider(props, fixed);
         String token = provider.createAccessToken(1L);
@@ -56,6 +82,39 @@ class JwtTokenProviderTest {
 
     }
 
+    @Test
+    void shared_parser_reads_clock_on_every_parse() {
+        Instant now = Instant.parse("2026-02-06T00:00:00Z");
+        AtomicReference<Instant> current = new AtomicReference<>(now);
+        Clock movable = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return current.get();
+            }
+        };
+
+        String secret = base64Secret("01234567890123456789012345678901");
+        JwtTokenProvider provider = new JwtTokenProvider(new JwtProperties("analog", secret, 1, 2, false), movable);
+
+        String token = provider.createAccessToken(1L);
+        assertThat(provider.parse(token).userId()).isEqualTo(1L);
+
+        current.set(now.plusSeconds(2));
+
+        assertThatThrownBy(() -> provider.parse(token))
+        .isInstanceOf(ExpiredJwtException.class);
+    }
+
     @Test
     void invalid_signature_throws() {
         Instant now = Instant.parse("2026-02-06T00:00:00Z");
@@ -64,8 +123,8 @@ class JwtTokenProviderTest {
         String secretA = base64Secret("01234567890123456789012345678901");
         String secretB = base64Secret("xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx");
 
-        JwtTokenProvider providerA = new JwtTokenProvider(new JwtProperties("analog", secretA, 900, 1209600), fixed);
-        JwtTokenProvider providerB = new JwtTokenProvider(new JwtProperties("analog", secretB, 900, 1209600), fixed);
+        JwtTokenProvider providerA = new JwtTokenProvider(new JwtProperties("analog", secretA, 900, 1209600, false), fixed);
+        JwtTokenProvider providerB = new JwtTokenProvider(new JwtProperties("analog", secretB, 900, 1209600, false), fixed);
 
         String token = providerA.createAccessToken(1L);
 
@@ -79,7 +138,7 @@ class JwtTokenProviderTest {
         Clock fixed = Clock.fixed(now, ZoneOffset.UTC);
 
         String secret = base64Secret("01234567890123456789012345678901");
-        JwtTokenProvider provider = new JwtTokenProvider(new JwtProperties("analog", secret, 900, 1209600), fixed);
+        JwtTokenProvider provider = new JwtTokenProvider(new JwtProperties("analog", secret, 900, 1209600, false), fixed);
 
         String refresh = provider.createRefreshToken(1L);
 
@@ -87,4 +146,22 @@ class JwtTokenProviderTest {
 
         assertThat(claims.tokenType()).isEqualTo(TokenType.REFRESH);
     }
+
+    @Test
+    void principal_claims_are_embedded_only_when_enabled() {
+        Instant now = Instant.parse("2026-02-06T00:00:00Z");
+        Clock fixed = Clock.fixed(now, ZoneOffset.UTC);
+
+        String secret = base64Secret("01234567890123456789012345678901");
+        JwtTokenProvider embedding = new JwtTokenProvider(new JwtProperties("analog", secret, 900, 1209600, true), fixed);
+        JwtTokenProvider plain = new JwtTokenProvider(new JwtProperties("analog", secret, 900, 1209600, false), fixed);
+        AuthPrincipal principal = new AuthPrincipal(1L, UserRole.ADMIN, AuthProvider.KAKAO, 3L);
+
+        TokenPair pair = embedding.issueTokenPair(principal);
+
+        assertThat(embedding.parse(pair.accessToken().token()).principal()).isEqualTo(principal);
+        // refresh token 에는 담지 않는다
+        assertThat(embedding.parse(pair.refreshToken().token()).hasEmbeddedPrincipal()).isFalse();
+        assertThat(plain.parse(plain.issueTokenPair(principal).accessToken().token()).hasEmbeddedPrincipal()).isFalse();
+    }
 }
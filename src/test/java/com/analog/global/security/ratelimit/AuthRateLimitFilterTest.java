@@ -0,0 +1,93 @@
+package com.analog.global.security.ratelimit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.analog.domain.user.repository.UserRepository;
+
+@SpringBootTest(properties = {
+        "auth.throttle.ip-limit=3",
+        "auth.throttle.email-limit=2"
+})
+@AutoConfigureMockMvc
+class AuthRateLimitFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void repeated_login_for_same_email_returns_429() throws Exception {
+        mockMvc.perform(login("10.0.0.1", "target@test.com")).andExpect(status().isUnauthorized());
+        // 대소문자만 다른 이메일도 같은 키로 센다
+        mockMvc.perform(login("10.0.0.2", "Target@test.com")).andExpect(status().isUnauthorized());
+
+        mockMvc.perform(login("10.0.0.3", "target@test.com"))
+               .andExpect(status().isTooManyRequests())
+               .andExpect(jsonPath("$.errorCode").value("REQ_429"))
+               .andExpect(jsonPath("$.path").value("/api/auth/login"));
+    }
+
+    @Test
+    void repeated_requests_from_same_ip_return_429() throws Exception {
+        mockMvc.perform(login("10.0.1.1", "a@test.com")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.1.1", "b@test.com")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.1.1", "c@test.com")).andExpect(status().isUnauthorized());
+
+        mockMvc.perform(login("10.0.1.1", "d@test.com"))
+               .andExpect(status().isTooManyRequests());
+
+        // 다른 IP 는 영향을 받지 않는다
+        mockMvc.perform(login("10.0.1.2", "d@test.com"))
+               .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void oversized_body_returns_413_without_counting_the_email() throws Exception {
+        mockMvc.perform(login("10.0.2.1", "big@test.com", "x".repeat(5000)))
+               .andExpect(status().is(413))
+               .andExpect(jsonPath("$.errorCode").value("REQ_413"));
+
+        // 거부된 요청은 이메일 시도 횟수에 들어가지 않는다
+        mockMvc.perform(login("10.0.2.2", "big@test.com")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.2.3", "big@test.com")).andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder login(String ip, String email) {
+        return login(ip, email, "123123");
+    }
+
+    private MockHttpServletRequestBuilder login(String ip, String email, String password) {
+        String body = """
+                {
+                "email": "%s",
+                "password": "%s"
+                }
+                """.formatted(email, password);
+
+        return post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
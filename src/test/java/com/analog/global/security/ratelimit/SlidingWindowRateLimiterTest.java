@@ -0,0 +1,52 @@
+package com.analog.global.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    @Test
+    void previous_window_is_weighted_by_remaining_overlap() {
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-02-06T00:00:00Z"));
+        Clock movable = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, Duration.ofSeconds(60), 100, movable);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("k")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("k")).isFalse();
+
+        // 다음 창의 절반 지점에서는 직전 창의 4회가 2회로 계산된다
+        now.set(now.get().plusSeconds(90));
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isFalse();
+
+        // 두 창이 지나면 처음부터 다시 센다
+        now.set(now.get().plusSeconds(120));
+        assertThat(limiter.tryAcquire("k")).isTrue();
+    }
+}
@@ -0,0 +1,40 @@
+package com.analog.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+// 만료/보관 기간처럼 시간이 흘러야 하는 동작을 테스트에서 직접 움직이기 위한 Clock
+public class MutableClock extends Clock {
+
+	private volatile Instant now;
+	
+	public MutableClock(Instant now) {
+		this.now = now;
+	}
+	
+	public void set(Instant now) {
+		this.now = now;
+	}
+	
+	public void advance(Duration duration) {
+		this.now = now.plus(duration);
+	}
+	
+	@Override
+	public ZoneId getZone() {
+		return ZoneOffset.UTC;
+	}
+	
+	@Override
+	public Clock withZone(ZoneId zone) {
+		return this;
+	}
+	
+	@Override
+	public Instant instant() {
+		return now;
+	}
+}